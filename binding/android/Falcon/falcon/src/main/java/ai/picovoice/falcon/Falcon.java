@@ -11,15 +11,20 @@
 package ai.picovoice.falcon;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.AssetManager;
 import android.content.res.Resources;
 import android.text.TextUtils;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 
 /**
  * Android binding for Falcon Speaker Diarization engine.
@@ -37,6 +42,7 @@ public class Falcon {
 
 
     private long handle;
+    private int traceCookie;
 
     private static final String[] VALID_EXTENSIONS = {
             "3gp",
@@ -55,6 +61,10 @@ public class Falcon {
         Falcon._sdk = sdk;
     }
 
+    static String getSdk() {
+        return Falcon._sdk;
+    }
+
     /**
      * Lists all available devices that Falcon can use for inference.
      * Each entry in the list can be used as the `device` argument when initializing Falcon.
@@ -84,10 +94,16 @@ public class Falcon {
             String device) throws FalconException {
         FalconNative.setSdk(Falcon._sdk);
 
-        handle = FalconNative.init(
-                accessKey,
-                modelPath,
-                device);
+        boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_INIT);
+        try {
+            handle = FalconNative.init(
+                    accessKey,
+                    modelPath,
+                    device);
+        } finally {
+            FalconTrace.endSection(traced);
+        }
+        traceCookie = FalconTrace.beginAsyncSection(FalconTrace.SECTION_INSTANCE);
     }
 
     /**
@@ -97,6 +113,8 @@ public class Falcon {
         if (handle != 0) {
             FalconNative.delete(handle);
             handle = 0;
+            FalconTrace.endAsyncSection(FalconTrace.SECTION_INSTANCE, traceCookie);
+            traceCookie = 0;
         }
     }
 
@@ -119,7 +137,12 @@ public class Falcon {
             throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
         }
 
-        return FalconNative.process(handle, pcm, pcm.length);
+        boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_PROCESS);
+        try {
+            return FalconNative.process(handle, pcm, pcm.length);
+        } finally {
+            FalconTrace.endSection(traced);
+        }
     }
 
     /**
@@ -139,6 +162,7 @@ public class Falcon {
             throw new FalconInvalidArgumentException("Passed null path to Falcon processFile.");
         }
 
+        boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_PROCESS_FILE);
         try {
             return FalconNative.processFile(handle, path);
         } catch (FalconInvalidArgumentException e) {
@@ -158,6 +182,8 @@ public class Falcon {
                                 TextUtils.join(", ", VALID_EXTENSIONS)));
             }
             throw e;
+        } finally {
+            FalconTrace.endSection(traced);
         }
     }
 
@@ -184,6 +210,10 @@ public class Falcon {
      */
     public static class Builder {
 
+        private static final String EXTRACTED_MARKER_SUFFIX = ".extracted";
+        private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+        private static final int MAX_MARKER_SIZE = 1024;
+
         private String accessKey = null;
         private String modelPath = null;
         private String device = null;
@@ -209,7 +239,8 @@ public class Falcon {
         }
 
         /**
-         * Setter for device.
+         * Setter for device. Set to `auto-tune` to benchmark the available devices and CPU thread counts
+         * on the first build and reuse the fastest one afterwards. See {@link FalconAutoTuner}.
          *
          * @param device String representation of the device
          */
@@ -221,31 +252,125 @@ public class Falcon {
         private static void extractPackageResources(Context context) throws FalconIOException {
             final Resources resources = context.getResources();
 
+            boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_EXTRACT);
             try {
                 defaultModelPath = extractResource(context,
                         resources.openRawResource(R.raw.falcon_params),
                         resources.getResourceEntryName(R.raw.falcon_params) + ".pv");
             } catch (IOException ex) {
                 throw new FalconIOException(ex);
+            } finally {
+                FalconTrace.endSection(traced);
             }
         }
 
-        private static String extractResource(
+        /**
+         * Copies a resource into the app's files directory. The copy is named after the full resource
+         * path, so resources with the same filename in different directories do not overwrite each
+         * other.
+         */
+        private static synchronized String extractResource(
                 Context context,
                 InputStream srcFileStream,
-                String dstFilename
+                String srcPath
         ) throws IOException {
-            InputStream is = new BufferedInputStream(srcFileStream, 512);
-            OutputStream os = new BufferedOutputStream(context.openFileOutput(dstFilename, Context.MODE_PRIVATE), 512);
-            int r;
-            while ((r = is.read()) != -1) {
-                os.write(r);
+            final String dstFilename = URLEncoder.encode(srcPath, "UTF-8");
+            final File dstFile = new File(context.getFilesDir(), dstFilename);
+            final File markerFile = new File(context.getFilesDir(), dstFilename + EXTRACTED_MARKER_SUFFIX);
+            final String version = getExtractionVersion(context);
+
+            boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_EXTRACT_RESOURCE);
+            try {
+                final long srcLength = getSourceLength(srcFileStream);
+                final String marker = srcLength + "\n" + version;
+                final boolean isCacheable = version != null && srcLength >= 0;
+                if (isCacheable && dstFile.length() == srcLength && markerFile.exists()) {
+                    if (readMarker(markerFile).equals(marker)) {
+                        return dstFile.getAbsolutePath();
+                    }
+                }
+
+                // Write next to the destination and rename, so an interrupted copy never leaves a
+                // truncated file under the final name.
+                final File tmpFile = new File(context.getFilesDir(), dstFilename + ".tmp");
+                final ReadableByteChannel src = Channels.newChannel(srcFileStream);
+                final FileOutputStream os = new FileOutputStream(tmpFile);
+                try {
+                    final FileChannel dst = os.getChannel();
+                    long position = 0;
+                    long transferred;
+                    while ((transferred = dst.transferFrom(src, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                        position += transferred;
+                    }
+                    os.getFD().sync();
+                } finally {
+                    os.close();
+                }
+
+                markerFile.delete();
+                if (!tmpFile.renameTo(dstFile)) {
+                    tmpFile.delete();
+                    throw new IOException(String.format("Failed to move extracted file to '%s'.", dstFile));
+                }
+                if (isCacheable) {
+                    writeMarker(markerFile, marker);
+                }
+                return dstFile.getAbsolutePath();
+            } finally {
+                FalconTrace.endSection(traced);
+                srcFileStream.close();
+            }
+        }
+
+        /**
+         * Returns the number of bytes in an asset or raw resource, or -1 if it is unknown. Asset streams
+         * report their full uncompressed length until the first read.
+         */
+        private static long getSourceLength(InputStream srcFileStream) throws IOException {
+            if (srcFileStream instanceof AssetManager.AssetInputStream) {
+                return srcFileStream.available();
+            }
+            return -1;
+        }
+
+        /**
+         * Extracted files are reused until the app is reinstalled or upgraded, or the engine changes.
+         * The marker also records the source length, so a copy of a different size is never reused.
+         * Returns null when the app's install time cannot be determined, which forces extraction.
+         */
+        private static String getExtractionVersion(Context context) {
+            try {
+                final long lastUpdateTime = context.getPackageManager()
+                        .getPackageInfo(context.getPackageName(), 0)
+                        .lastUpdateTime;
+                return lastUpdateTime + ":" + FalconNative.getVersion();
+            } catch (PackageManager.NameNotFoundException e) {
+                return null;
+            }
+        }
+
+        private static String readMarker(File markerFile) throws IOException {
+            final byte[] contents = new byte[(int) Math.min(markerFile.length(), MAX_MARKER_SIZE)];
+            final FileInputStream is = new FileInputStream(markerFile);
+            try {
+                int offset = 0;
+                int r;
+                while (offset < contents.length && (r = is.read(contents, offset, contents.length - offset)) != -1) {
+                    offset += r;
+                }
+                return new String(contents, 0, offset, "UTF-8");
+            } finally {
+                is.close();
             }
-            os.flush();
+        }
 
-            is.close();
-            os.close();
-            return new File(context.getFilesDir(), dstFilename).getAbsolutePath();
+        private static void writeMarker(File markerFile, String marker) throws IOException {
+            final FileOutputStream os = new FileOutputStream(markerFile);
+            try {
+                os.write(marker.getBytes("UTF-8"));
+            } finally {
+                os.close();
+            }
         }
 
         /**
@@ -268,7 +393,7 @@ public class Falcon {
                     try {
                         modelPath = extractResource(context,
                                 context.getAssets().open(modelPath),
-                                modelFilename);
+                                modelPath);
                     } catch (IOException ex) {
                         throw new FalconIOException(ex);
                     }
@@ -277,6 +402,8 @@ public class Falcon {
 
             if (device == null) {
                 device = "best";
+            } else if (device.equals(FalconAutoTuner.DEVICE_AUTO_TUNE)) {
+                device = FalconAutoTuner.resolveDevice(context, accessKey, modelPath);
             }
 
             return new Falcon(
@@ -0,0 +1,233 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Picks the fastest device string for this phone when Falcon is built with the `auto-tune` device.
+ *
+ * Candidates are every non-CPU device reported by the engine plus `cpu:N` for thread counts that
+ * match the CPU topology: one thread, the fastest cluster, every core except the slowest cluster,
+ * and every core. Each candidate diarizes a short synthetic calibration clip and the one with the
+ * lowest processing time wins. The result is stored per device model, engine version and model
+ * file, so later builds skip calibration.
+ */
+public final class FalconAutoTuner {
+
+    static final String DEVICE_AUTO_TUNE = "auto-tune";
+
+    private static final String PREFERENCES_NAME = "ai.picovoice.falcon.autotune";
+    private static final String FALLBACK_DEVICE = "best";
+
+    private static final int CALIBRATION_CLIP_SEC = 10;
+    private static final int CALIBRATION_ITERATIONS = 2;
+
+    private FalconAutoTuner() {
+    }
+
+    /**
+     * Removes stored auto-tune results so the next `auto-tune` build calibrates again.
+     *
+     * @param context Android app context.
+     */
+    public static void clear(Context context) {
+        synchronized (FalconAutoTuner.class) {
+            getPreferences(context).edit().clear().commit();
+        }
+    }
+
+    /**
+     * Returns the stored device for this phone, engine version and model, calibrating first if none
+     * is stored.
+     */
+    static synchronized String resolveDevice(
+            Context context,
+            String accessKey,
+            String modelPath) throws FalconException {
+        final SharedPreferences preferences = getPreferences(context);
+        final String key = getPreferenceKey(modelPath);
+        final String stored = preferences.getString(key, null);
+        if (stored != null) {
+            return stored;
+        }
+
+        final String device;
+        final boolean traced = FalconTrace.beginSection(FalconTrace.SECTION_AUTO_TUNE);
+        try {
+            device = calibrate(accessKey, modelPath);
+        } finally {
+            FalconTrace.endSection(traced);
+        }
+        preferences.edit().putString(key, device).commit();
+        return device;
+    }
+
+    private static String calibrate(String accessKey, String modelPath) throws FalconException {
+        FalconNative.setSdk(Falcon.getSdk());
+        final short[] clip = createCalibrationClip(FalconNative.getSampleRate() * CALIBRATION_CLIP_SEC);
+
+        String bestDevice = null;
+        long bestNs = Long.MAX_VALUE;
+        FalconException firstError = null;
+        for (String device : getCandidateDevices()) {
+            long handle;
+            try {
+                handle = FalconNative.init(accessKey, modelPath, device);
+            } catch (FalconInvalidArgumentException | FalconRuntimeException e) {
+                // The device is not usable on this phone. Other errors, such as an invalid
+                // AccessKey, would fail every candidate and are thrown straight away.
+                if (firstError == null) {
+                    firstError = e;
+                }
+                continue;
+            }
+
+            try {
+                // The first call warms up caches and lazily allocated buffers and is not timed.
+                FalconNative.process(handle, clip, clip.length);
+                long minNs = Long.MAX_VALUE;
+                for (int i = 0; i < CALIBRATION_ITERATIONS; i++) {
+                    final long before = System.nanoTime();
+                    FalconNative.process(handle, clip, clip.length);
+                    minNs = Math.min(minNs, System.nanoTime() - before);
+                }
+                if (minNs < bestNs) {
+                    bestNs = minNs;
+                    bestDevice = device;
+                }
+            } catch (FalconException e) {
+                if (firstError == null) {
+                    firstError = e;
+                }
+            } finally {
+                FalconNative.delete(handle);
+            }
+        }
+
+        if (bestDevice == null) {
+            if (firstError != null) {
+                throw firstError;
+            }
+            return FALLBACK_DEVICE;
+        }
+        return bestDevice;
+    }
+
+    static List<String> getCandidateDevices() throws FalconException {
+        final List<String> devices = new ArrayList<>();
+        for (String device : FalconNative.listHardwareDevices()) {
+            if (!device.startsWith("cpu")) {
+                devices.add(device);
+            }
+        }
+        for (int numThreads : getCandidateThreadCounts()) {
+            devices.add("cpu:" + numThreads);
+        }
+        return devices;
+    }
+
+    /**
+     * Thread counts derived from the CPU clusters, grouped by maximum core frequency. On a
+     * big.LITTLE phone with 2 prime, 2 big and 4 little cores this yields 1, 2, 4 and 8.
+     */
+    static TreeSet<Integer> getCandidateThreadCounts() {
+        final int numCores = Runtime.getRuntime().availableProcessors();
+        final TreeMap<Long, Integer> clusters = new TreeMap<>();
+        for (int cpu = 0; cpu < numCores; cpu++) {
+            final long maxFreq = readCpuMaxFreq(cpu);
+            if (maxFreq <= 0) {
+                clusters.clear();
+                break;
+            }
+            final Integer count = clusters.get(maxFreq);
+            clusters.put(maxFreq, count == null ? 1 : count + 1);
+        }
+
+        final TreeSet<Integer> threadCounts = new TreeSet<>();
+        threadCounts.add(1);
+        threadCounts.add(numCores);
+        if (!clusters.isEmpty()) {
+            threadCounts.add(clusters.lastEntry().getValue());
+            threadCounts.add(numCores - clusters.firstEntry().getValue());
+        } else if (numCores > 2) {
+            threadCounts.add(numCores / 2);
+        }
+        threadCounts.remove(0);
+        return threadCounts;
+    }
+
+    private static long readCpuMaxFreq(int cpu) {
+        final File file = new File(String.format("/sys/devices/system/cpu/cpu%d/cpufreq/cpuinfo_max_freq", cpu));
+        try {
+            final BufferedReader reader = new BufferedReader(new FileReader(file));
+            try {
+                final String line = reader.readLine();
+                return line == null ? -1 : Long.parseLong(line.trim());
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Noise bursts separated by pauses, so the engine does the same voice activity and embedding
+     * work it does on speech rather than skipping a silent clip.
+     */
+    private static short[] createCalibrationClip(int numSamples) {
+        final int sampleRate = FalconNative.getSampleRate();
+        final short[] clip = new short[numSamples];
+        final Random random = new Random(0);
+        for (int i = 0; i < numSamples; i++) {
+            final double t = (double) i / sampleRate;
+            final boolean active = (t % 2.5) < 2.0;
+            if (active) {
+                final double tone = Math.sin(2 * Math.PI * (150 + 50 * Math.floor(t / 2.5)) * t);
+                clip[i] = (short) (4000 * tone + 1500 * random.nextGaussian());
+            }
+        }
+        return clip;
+    }
+
+    private static SharedPreferences getPreferences(Context context) {
+        return context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    private static String getPreferenceKey(String modelPath) {
+        // Models that share a file name, or a model file replaced in place, must not share a result.
+        final File model = new File(modelPath);
+        return String.format(
+                "%s %s (%s)|%s|%s|%d|%d",
+                Build.MANUFACTURER,
+                Build.MODEL,
+                Build.FINGERPRINT,
+                FalconNative.getVersion(),
+                model.getAbsolutePath(),
+                model.length(),
+                model.lastModified());
+    }
+}
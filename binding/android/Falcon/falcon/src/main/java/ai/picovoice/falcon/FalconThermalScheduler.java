@@ -0,0 +1,573 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs queued diarization jobs on a single Falcon instance and adapts to the device's thermal
+ * state, so long batch jobs slow down gracefully instead of collapsing when the phone heats up.
+ *
+ * Before each job the scheduler reads {@link PowerManager#getCurrentThermalStatus()} (API 29+) and
+ * {@link PowerManager#getThermalHeadroom(int)} (API 30+) and picks a level:
+ *
+ * - full speed: `cpu:${maxThreads}`, jobs run back to back.
+ * - reduced, from `MODERATE` or when the headroom forecast approaches `SEVERE`: half the threads,
+ *   followed by a pause of half the job's duration.
+ * - minimal, from `SEVERE`: one thread, followed by a pause as long as the job.
+ * - paused, from `CRITICAL`: the queue waits until the status drops.
+ *
+ * The engine is rebuilt whenever the thread count changes. On devices without thermal APIs jobs
+ * always run at full speed. {@link #getStats()} reports time spent throttled.
+ */
+public class FalconThermalScheduler {
+
+    private static final int LEVEL_FULL = 0;
+    private static final int LEVEL_REDUCED = 1;
+    private static final int LEVEL_MINIMAL = 2;
+    private static final int LEVEL_PAUSED = 3;
+    private static final String[] LEVEL_NAMES = {"full", "reduced", "minimal", "paused"};
+
+    private static final float REDUCED_SPREAD = 0.5f;
+    private static final float MINIMAL_SPREAD = 1.0f;
+
+    private static final int HEADROOM_FORECAST_SEC = 10;
+    // getThermalHeadroom returns NaN when polled more often than about once per second.
+    private static final long HEADROOM_POLL_INTERVAL_MS = 1000;
+    private static final long PAUSED_POLL_INTERVAL_MS = 1000;
+
+    private final Context context;
+    private final String accessKey;
+    private final String modelPath;
+    private final int maxThreads;
+    private final float headroomThreshold;
+
+    private final PowerManager powerManager;
+    private final Object thermalListener;
+    private final ThreadPoolExecutor executor;
+    private final Object lock = new Object();
+
+    private Falcon falcon = null;
+    private int numThreads = 0;
+    private boolean deleted = false;
+
+    private float lastHeadroom = Float.NaN;
+    private long lastHeadroomPollMs = 0;
+
+    private int level = LEVEL_FULL;
+    private long levelSinceNs = System.nanoTime();
+    private final long[] levelTimeNs = new long[LEVEL_NAMES.length];
+    private long numJobs = 0;
+    private long numRebuilds = 0;
+
+    private FalconThermalScheduler(
+            Context context,
+            String accessKey,
+            String modelPath,
+            int maxThreads,
+            float headroomThreshold) {
+        this.context = context;
+        this.accessKey = accessKey;
+        this.modelPath = modelPath;
+        this.maxThreads = maxThreads;
+        this.headroomThreshold = headroomThreshold;
+
+        this.powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        this.thermalListener = registerThermalListener();
+        this.executor = new ThreadPoolExecutor(
+                1,
+                1,
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "falcon-thermal-scheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * Queues raw audio for diarization. See {@link Falcon#process(short[])}.
+     *
+     * @param pcm Audio samples. Must not be modified until the job completes.
+     * @return Future that yields the diarized speaker segments.
+     * @throws FalconException if the scheduler has been deleted.
+     */
+    public Future<FalconSegment[]> process(final short[] pcm) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to FalconThermalScheduler process.");
+        }
+
+        return submit("process", new Job() {
+            @Override
+            public FalconSegment[] run(Falcon falcon) throws FalconException {
+                return falcon.process(pcm);
+            }
+        });
+    }
+
+    /**
+     * Queues an audio file for diarization. See {@link Falcon#processFile(String)}.
+     *
+     * @param path Absolute path to the audio file.
+     * @return Future that yields the diarized speaker segments.
+     * @throws FalconException if the scheduler has been deleted.
+     */
+    public Future<FalconSegment[]> processFile(final String path) throws FalconException {
+        if (path == null || path.equals("")) {
+            throw new FalconInvalidArgumentException("Passed null path to FalconThermalScheduler processFile.");
+        }
+
+        return submit("processFile", new Job() {
+            @Override
+            public FalconSegment[] run(Falcon falcon) throws FalconException {
+                return falcon.processFile(path);
+            }
+        });
+    }
+
+    /**
+     * Getter for throttling statistics. Time is attributed to the level chosen for the most recent job, so
+     * idle time after a throttled job counts as throttled.
+     *
+     * @return Snapshot of time spent at each level and the number of jobs and engine rebuilds.
+     */
+    public Stats getStats() {
+        synchronized (lock) {
+            updateLevel(level);
+            return new Stats(levelTimeNs.clone(), numJobs, numRebuilds, numThreads, LEVEL_NAMES[level]);
+        }
+    }
+
+    /**
+     * Releases resources. Queued jobs are cancelled; a job that is already running finishes first and
+     * returns its result without its cool-down pause.
+     */
+    public void delete() {
+        synchronized (lock) {
+            if (deleted) {
+                return;
+            }
+            deleted = true;
+            lock.notifyAll();
+        }
+
+        unregisterThermalListener();
+        // Not shutdownNow(): interrupting a job in its cool-down pause would discard its result. The
+        // pause ends on its own because `deleted` is set.
+        executor.shutdown();
+        List<Runnable> queued = new ArrayList<>();
+        executor.getQueue().drainTo(queued);
+        for (Runnable task : queued) {
+            ((FutureTask<?>) task).cancel(false);
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (lock) {
+            if (falcon != null) {
+                falcon.delete();
+                falcon = null;
+            }
+        }
+    }
+
+    private Future<FalconSegment[]> submit(String method, final Job job) throws FalconException {
+        FutureTask<FalconSegment[]> task = new FutureTask<>(new Callable<FalconSegment[]>() {
+            @Override
+            public FalconSegment[] call() throws Exception {
+                return runJob(job);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new FalconInvalidStateException(
+                    String.format("Attempted to call FalconThermalScheduler %s after delete.", method));
+        }
+        return task;
+    }
+
+    private FalconSegment[] runJob(Job job) throws FalconException, InterruptedException {
+        int jobLevel = awaitRunnableLevel();
+        Falcon engine = getEngine(threadsForLevel(jobLevel));
+
+        long before = System.nanoTime();
+        FalconSegment[] segments = job.run(engine);
+        long elapsedNs = System.nanoTime() - before;
+
+        synchronized (lock) {
+            numJobs++;
+        }
+
+        // Spread work out so the device gets time to shed heat between jobs.
+        float spread = jobLevel == LEVEL_MINIMAL ? MINIMAL_SPREAD : jobLevel == LEVEL_REDUCED ? REDUCED_SPREAD : 0;
+        long pauseMs = (long) (TimeUnit.NANOSECONDS.toMillis(elapsedNs) * spread);
+        if (pauseMs > 0) {
+            synchronized (lock) {
+                long deadline = System.currentTimeMillis() + pauseMs;
+                long remaining = pauseMs;
+                while (!deleted && remaining > 0) {
+                    lock.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+        }
+        return segments;
+    }
+
+    private int awaitRunnableLevel() throws FalconException, InterruptedException {
+        synchronized (lock) {
+            while (true) {
+                if (deleted) {
+                    throw new FalconInvalidStateException("FalconThermalScheduler was deleted before the job started.");
+                }
+                int current = readLevel();
+                updateLevel(current);
+                if (current != LEVEL_PAUSED) {
+                    return current;
+                }
+                // Woken early by the thermal status listener or delete().
+                lock.wait(PAUSED_POLL_INTERVAL_MS);
+            }
+        }
+    }
+
+    /**
+     * Called only from the executor thread. The engine is built outside `lock`, so
+     * {@link #getStats()} and the thermal listener are not blocked during initialization.
+     */
+    private Falcon getEngine(int threads) throws FalconException {
+        Falcon stale;
+        synchronized (lock) {
+            if (falcon != null && numThreads == threads) {
+                return falcon;
+            }
+            stale = falcon;
+            falcon = null;
+            if (stale != null) {
+                numRebuilds++;
+            }
+        }
+
+        if (stale != null) {
+            stale.delete();
+        }
+        Falcon engine = new Falcon.Builder()
+                .setAccessKey(accessKey)
+                .setModelPath(modelPath)
+                .setDevice("cpu:" + threads)
+                .build(context);
+
+        synchronized (lock) {
+            falcon = engine;
+            numThreads = threads;
+        }
+        return engine;
+    }
+
+    private int threadsForLevel(int level) {
+        switch (level) {
+            case LEVEL_REDUCED:
+                return Math.max(1, maxThreads / 2);
+            case LEVEL_MINIMAL:
+                return 1;
+            default:
+                return maxThreads;
+        }
+    }
+
+    private int readLevel() {
+        if (powerManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return LEVEL_FULL;
+        }
+
+        int status = powerManager.getCurrentThermalStatus();
+        if (status >= PowerManager.THERMAL_STATUS_CRITICAL) {
+            return LEVEL_PAUSED;
+        }
+        if (status >= PowerManager.THERMAL_STATUS_SEVERE) {
+            return LEVEL_MINIMAL;
+        }
+        if (status >= PowerManager.THERMAL_STATUS_MODERATE) {
+            return LEVEL_REDUCED;
+        }
+
+        // A headroom of 1.0 corresponds to SEVERE, so throttle ahead of it.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            long now = System.currentTimeMillis();
+            if (now - lastHeadroomPollMs >= HEADROOM_POLL_INTERVAL_MS) {
+                float headroom = powerManager.getThermalHeadroom(HEADROOM_FORECAST_SEC);
+                lastHeadroomPollMs = now;
+                if (!Float.isNaN(headroom)) {
+                    lastHeadroom = headroom;
+                }
+            }
+            if (!Float.isNaN(lastHeadroom) && lastHeadroom >= headroomThreshold) {
+                return LEVEL_REDUCED;
+            }
+        }
+        return LEVEL_FULL;
+    }
+
+    private void updateLevel(int newLevel) {
+        long now = System.nanoTime();
+        levelTimeNs[level] += now - levelSinceNs;
+        levelSinceNs = now;
+        level = newLevel;
+    }
+
+    private Object registerThermalListener() {
+        if (powerManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return null;
+        }
+
+        PowerManager.OnThermalStatusChangedListener listener = new PowerManager.OnThermalStatusChangedListener() {
+            @Override
+            public void onThermalStatusChanged(int status) {
+                synchronized (lock) {
+                    lock.notifyAll();
+                }
+            }
+        };
+        powerManager.addThermalStatusListener(new java.util.concurrent.Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }, listener);
+        return listener;
+    }
+
+    private void unregisterThermalListener() {
+        if (thermalListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            powerManager.removeThermalStatusListener((PowerManager.OnThermalStatusChangedListener) thermalListener);
+        }
+    }
+
+    private interface Job {
+        FalconSegment[] run(Falcon falcon) throws FalconException;
+    }
+
+    /**
+     * Snapshot of FalconThermalScheduler statistics.
+     */
+    public static final class Stats {
+        private final long[] levelTimeNs;
+        private final long numJobs;
+        private final long numRebuilds;
+        private final int numThreads;
+        private final String level;
+
+        private Stats(long[] levelTimeNs, long numJobs, long numRebuilds, int numThreads, String level) {
+            this.levelTimeNs = levelTimeNs;
+            this.numJobs = numJobs;
+            this.numRebuilds = numRebuilds;
+            this.numThreads = numThreads;
+            this.level = level;
+        }
+
+        /**
+         * Getter for the time spent below full speed, including time paused.
+         *
+         * @return Throttled time in milliseconds.
+         */
+        public long getThrottledMs() {
+            return TimeUnit.NANOSECONDS.toMillis(
+                    levelTimeNs[LEVEL_REDUCED] + levelTimeNs[LEVEL_MINIMAL] + levelTimeNs[LEVEL_PAUSED]);
+        }
+
+        /**
+         * Getter for the time the queue spent paused.
+         *
+         * @return Paused time in milliseconds.
+         */
+        public long getPausedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(levelTimeNs[LEVEL_PAUSED]);
+        }
+
+        /**
+         * Getter for the total time tracked since the scheduler was built.
+         *
+         * @return Tracked time in milliseconds.
+         */
+        public long getTotalMs() {
+            long total = 0;
+            for (long ns : levelTimeNs) {
+                total += ns;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(total);
+        }
+
+        /**
+         * Getter for the number of completed jobs.
+         *
+         * @return Number of jobs.
+         */
+        public long getNumJobs() {
+            return numJobs;
+        }
+
+        /**
+         * Getter for the number of times the engine was rebuilt with a different thread count.
+         *
+         * @return Number of rebuilds.
+         */
+        public long getNumRebuilds() {
+            return numRebuilds;
+        }
+
+        /**
+         * Getter for the thread count of the current engine.
+         *
+         * @return Number of threads, or `0` if no job has run yet.
+         */
+        public int getNumThreads() {
+            return numThreads;
+        }
+
+        /**
+         * Getter for the current throttling level.
+         *
+         * @return One of `full`, `reduced`, `minimal` or `paused`.
+         */
+        public String getLevel() {
+            return level;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "FalconThermalScheduler.Stats{level=%s, threads=%d, jobs=%d, rebuilds=%d, " +
+                            "throttledMs=%d, pausedMs=%d, totalMs=%d}",
+                    level,
+                    numThreads,
+                    numJobs,
+                    numRebuilds,
+                    getThrottledMs(),
+                    getPausedMs(),
+                    getTotalMs());
+        }
+    }
+
+    /**
+     * Builder for creating an instance of FalconThermalScheduler.
+     */
+    public static class Builder {
+
+        private static final float DEFAULT_HEADROOM_THRESHOLD = 0.9f;
+
+        private String accessKey = null;
+        private String modelPath = null;
+        private int maxThreads = 0;
+        private float headroomThreshold = DEFAULT_HEADROOM_THRESHOLD;
+
+        /**
+         * Setter the AccessKey.
+         *
+         * @param accessKey AccessKey obtained from Picovoice Console
+         */
+        public Builder setAccessKey(String accessKey) {
+            this.accessKey = accessKey;
+            return this;
+        }
+
+        /**
+         * Setter for the absolute path to the file containing Falcon model parameters.
+         *
+         * @param modelPath Absolute path to the file containing Falcon model parameters.
+         */
+        public Builder setModelPath(String modelPath) {
+            this.modelPath = modelPath;
+            return this;
+        }
+
+        /**
+         * Setter for the CPU thread count used at full speed. `0`, the default, uses the number of available cores.
+         *
+         * @param maxThreads Maximum number of threads.
+         */
+        public Builder setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /**
+         * Setter for the thermal headroom forecast at which jobs are throttled before the status changes.
+         * `1.0` corresponds to `THERMAL_STATUS_SEVERE`. Defaults to `0.9`.
+         *
+         * @param headroomThreshold Headroom threshold.
+         */
+        public Builder setHeadroomThreshold(float headroomThreshold) {
+            this.headroomThreshold = headroomThreshold;
+            return this;
+        }
+
+        /**
+         * Creates an instance of FalconThermalScheduler. The engine is built when the first job runs.
+         */
+        public FalconThermalScheduler build(Context context) throws FalconException {
+            if (accessKey == null || this.accessKey.equals("")) {
+                throw new FalconInvalidArgumentException("No AccessKey was provided to FalconThermalScheduler");
+            }
+
+            if (maxThreads < 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("FalconThermalScheduler max threads must be non-negative, got %d.", maxThreads));
+            }
+
+            if (headroomThreshold <= 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "FalconThermalScheduler headroom threshold must be positive, got %f.",
+                                headroomThreshold));
+            }
+
+            int threads = maxThreads > 0 ? maxThreads : Runtime.getRuntime().availableProcessors();
+            return new FalconThermalScheduler(
+                    context.getApplicationContext(),
+                    accessKey,
+                    modelPath,
+                    threads,
+                    headroomThreshold);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import android.os.Build;
+import android.os.Trace;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controls the `android.os.Trace` sections Falcon emits, so diarization shows up as its own slices
+ * in Perfetto and systrace captures.
+ *
+ * When enabled, engine initialization, `process()`, `processFile()` and model extraction are wrapped
+ * in sections named `Falcon.*` on the calling thread. On API 29 and above, each instance also emits
+ * an async section (`Falcon.instance`) from `build()` to `delete()` with a unique cookie, so work done
+ * on background threads can be attributed to the instance that did it. Tracing is disabled by default.
+ */
+public final class FalconTrace {
+
+    static final String SECTION_INIT = "Falcon.init";
+    static final String SECTION_PROCESS = "Falcon.process";
+    static final String SECTION_PROCESS_FILE = "Falcon.processFile";
+    static final String SECTION_EXTRACT = "Falcon.extractPackageResources";
+    static final String SECTION_EXTRACT_RESOURCE = "Falcon.extractResource";
+    static final String SECTION_AUTO_TUNE = "Falcon.autoTune";
+    static final String SECTION_INSTANCE = "Falcon.instance";
+
+    private static final AtomicInteger nextCookie = new AtomicInteger(1);
+
+    private static volatile boolean enabled = false;
+
+    private FalconTrace() {
+    }
+
+    /**
+     * Setter for whether Falcon emits trace sections. Can be changed at any time; sections that are
+     * already open are still closed.
+     *
+     * @param enabled Whether to emit trace sections.
+     */
+    public static void setEnabled(boolean enabled) {
+        FalconTrace.enabled = enabled;
+    }
+
+    /**
+     * Getter for whether Falcon emits trace sections.
+     *
+     * @return `true` if trace sections are enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begins a section on the calling thread.
+     *
+     * @return Whether a section was begun. Pass it to {@link #endSection(boolean)} so toggling
+     *         tracing in between does not unbalance the thread's section stack.
+     */
+    static boolean beginSection(String name) {
+        if (!enabled) {
+            return false;
+        }
+        Trace.beginSection(name);
+        return true;
+    }
+
+    static void endSection(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Begins an async section, which may end on a different thread than the one it began on.
+     *
+     * @return Cookie to pass to {@link #endAsyncSection(String, int)}, or `0` if no section was begun.
+     */
+    static int beginAsyncSection(String name) {
+        if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return 0;
+        }
+        int cookie = nextCookie.getAndIncrement();
+        if (cookie == 0) {
+            cookie = nextCookie.getAndIncrement();
+        }
+        Trace.beginAsyncSection(name, cookie);
+        return cookie;
+    }
+
+    static void endAsyncSection(String name, int cookie) {
+        if (cookie != 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+}
@@ -18,3 +18,6 @@ cp ../../../lib/common/*.pv ./falcon-test-app/src/androidTest/assets/test_resour
 
 echo "Copying test data file..."
 cp ../../../resources/.test/test_data.json ./falcon-test-app/src/androidTest/assets/test_resources
+
+echo "Copying performance baseline file..."
+cp ../../../resources/.test/performance_baseline.json ./falcon-test-app/src/androidTest/assets/test_resources
@@ -0,0 +1,138 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon.benchmark;
+
+import static org.junit.Assume.assumeFalse;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import ai.picovoice.falcon.Falcon;
+import ai.picovoice.falcon.FalconException;
+
+/**
+ * Microbenchmarks for Falcon. The benchmark library handles warm-up, reports the spread of
+ * measurements and counts allocations. Lock the clocks of a rooted device with
+ * `./gradlew :falcon-benchmark:lockClocks` before running for stable numbers.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FalconBenchmark {
+
+    private static final int WAV_HEADER_SAMPLES = 22;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Context context;
+    private Falcon.Builder falconBuilder;
+    private Falcon falcon;
+    private short[] pcm;
+    private String audioPath;
+
+    @Before
+    public void setUp() throws FalconException, IOException {
+        context = InstrumentationRegistry.getInstrumentation().getContext();
+
+        String accessKey = context.getString(R.string.pvTestingAccessKey);
+        assumeFalse("pvTestingAccessKey is not set.", accessKey.equals(""));
+        String device = context.getString(R.string.pvTestingDevice);
+
+        falconBuilder = new Falcon.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device.equals("") ? "best" : device);
+        falcon = falconBuilder.build(context);
+
+        File audioFile = new File(context.getFilesDir(), "test.wav");
+        byte[] rawData = readAsset("audio_samples/test.wav");
+        OutputStream os = new FileOutputStream(audioFile);
+        try {
+            os.write(rawData);
+        } finally {
+            os.close();
+        }
+        audioPath = audioFile.getAbsolutePath();
+
+        short[] raw = new short[rawData.length / 2];
+        ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(raw);
+        pcm = new short[raw.length - WAV_HEADER_SAMPLES];
+        System.arraycopy(raw, WAV_HEADER_SAMPLES, pcm, 0, pcm.length);
+    }
+
+    @After
+    public void tearDown() {
+        if (falcon != null) {
+            falcon.delete();
+        }
+    }
+
+    @Test
+    public void build() throws FalconException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Falcon instance = falconBuilder.build(context);
+            state.pauseTiming();
+            instance.delete();
+            state.resumeTiming();
+        }
+    }
+
+    @Test
+    public void process() throws FalconException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            falcon.process(pcm);
+        }
+    }
+
+    @Test
+    public void processFile() throws FalconException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            falcon.processFile(audioPath);
+        }
+    }
+
+    private byte[] readAsset(String name) throws IOException {
+        InputStream is = context.getAssets().open(name);
+        try {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int r;
+            while ((r = is.read(buffer)) != -1) {
+                os.write(buffer, 0, r);
+            }
+            return os.toByteArray();
+        } finally {
+            is.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Cold, warm and hot startup of falcon-test-app, which links the in-tree Falcon binding.
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final String TARGET_PACKAGE = "ai.picovoice.falcon.testapp";
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Parameterized.Parameter(value = 0)
+    public StartupMode startupMode;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> initParameters() {
+        return Arrays.asList(new Object[][]{
+                {StartupMode.COLD},
+                {StartupMode.WARM},
+                {StartupMode.HOT}
+        });
+    }
+
+    @Test
+    public void startup() {
+        benchmarkRule.measureRepeated(
+                TARGET_PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                CompilationMode.DEFAULT,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+}
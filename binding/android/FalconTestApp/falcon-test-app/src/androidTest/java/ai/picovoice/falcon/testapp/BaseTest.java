@@ -63,10 +63,14 @@ public class BaseTest {
     }
 
     public static String getTestDataString() throws IOException {
+        return getTestResourceString("test_data.json");
+    }
+
+    public static String getTestResourceString(String filename) throws IOException {
         Context testContext = InstrumentationRegistry.getInstrumentation().getContext();
         AssetManager assetManager = testContext.getAssets();
 
-        InputStream is = new BufferedInputStream(assetManager.open("test_resources/test_data.json"), 256);
+        InputStream is = new BufferedInputStream(assetManager.open("test_resources/" + filename), 256);
         ByteArrayOutputStream result = new ByteArrayOutputStream();
 
         byte[] buffer = new byte[256];
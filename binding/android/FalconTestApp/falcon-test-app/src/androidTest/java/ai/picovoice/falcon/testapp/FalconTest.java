@@ -14,6 +14,9 @@ package ai.picovoice.falcon.testapp;
 
 import static org.junit.Assert.*;
 
+import android.content.Context;
+import android.content.SharedPreferences;
+
 import androidx.test.platform.app.InstrumentationRegistry;
 
 import com.google.gson.JsonArray;
@@ -30,10 +33,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 import ai.picovoice.falcon.Falcon;
+import ai.picovoice.falcon.FalconAutoTuner;
 import ai.picovoice.falcon.FalconException;
 import ai.picovoice.falcon.FalconSegment;
+import ai.picovoice.falcon.FalconThermalScheduler;
+import ai.picovoice.falcon.FalconTrace;
 
 
 @RunWith(Enclosed.class)
@@ -41,6 +49,8 @@ public class FalconTest {
 
     public static class StandardTests extends BaseTest {
 
+        private static final String AUTO_TUNE_PREFERENCES = "ai.picovoice.falcon.autotune";
+
         @Test
         public void testInitFailWithInvalidAccessKey() {
             boolean didFail = false;
@@ -146,6 +156,128 @@ public class FalconTest {
             assertTrue(didFail);
         }
 
+        @Test
+        public void testDefaultModelExtraction() throws FalconException {
+            Falcon falcon = new Falcon.Builder()
+                    .setAccessKey(accessKey)
+                    .setDevice(device)
+                    .build(appContext);
+            falcon.delete();
+
+            File modelFile = new File(appContext.getFilesDir(), "falcon_params.pv");
+            assertTrue(modelFile.exists() && modelFile.length() > 0);
+            assertTrue(new File(appContext.getFilesDir(), "falcon_params.pv.extracted").exists());
+            assertFalse(new File(appContext.getFilesDir(), "falcon_params.pv.tmp").exists());
+        }
+
+        @Test
+        public void testAssetModelExtraction() throws FalconException {
+            Falcon falcon = new Falcon.Builder()
+                    .setAccessKey(accessKey)
+                    .setModelPath("models/falcon_params.pv")
+                    .setDevice(device)
+                    .build(appContext);
+            falcon.delete();
+
+            // Extracted copies are keyed on the full asset path, not only the filename.
+            File modelFile = new File(appContext.getFilesDir(), "models%2Ffalcon_params.pv");
+            assertTrue(modelFile.exists() && modelFile.length() > 0);
+            assertTrue(new File(appContext.getFilesDir(), "models%2Ffalcon_params.pv.extracted").exists());
+        }
+
+        @Test
+        public void testAutoTune() throws Exception {
+            FalconAutoTuner.clear(appContext);
+            SharedPreferences preferences = appContext.getSharedPreferences(
+                    AUTO_TUNE_PREFERENCES,
+                    Context.MODE_PRIVATE);
+
+            Falcon falcon = new Falcon.Builder()
+                    .setAccessKey(accessKey)
+                    .setDevice("auto-tune")
+                    .build(appContext);
+            assertTrue(falcon.processFile(getAudioFilepath("test.wav")).length > 0);
+            falcon.delete();
+
+            // Calibration stores one resolved device, which is a CPU thread count, another device
+            // reported by the engine, or the `best` fallback.
+            Map<String, ?> stored = preferences.getAll();
+            assertEquals(1, stored.size());
+            String key = stored.keySet().iterator().next();
+            String resolved = (String) stored.get(key);
+            boolean isKnownDevice = resolved.equals("best") || resolved.matches("cpu:[1-9][0-9]*");
+            for (String availableDevice : Falcon.getAvailableDevices()) {
+                isKnownDevice |= availableDevice.equals(resolved);
+            }
+            assertTrue(resolved, isKnownDevice);
+
+            // A later build uses the stored device instead of calibrating again, so an unusable
+            // stored device makes it fail.
+            preferences.edit().putString(key, "invalid:9").commit();
+            boolean didFail = false;
+            try {
+                new Falcon.Builder()
+                        .setAccessKey(accessKey)
+                        .setDevice("auto-tune")
+                        .build(appContext)
+                        .delete();
+            } catch (FalconException e) {
+                didFail = true;
+            }
+            assertTrue(didFail);
+            assertEquals("invalid:9", preferences.getString(key, null));
+
+            FalconAutoTuner.clear(appContext);
+        }
+
+        @Test
+        public void testThermalScheduler() throws Exception {
+            FalconThermalScheduler scheduler = new FalconThermalScheduler.Builder()
+                    .setAccessKey(accessKey)
+                    .setMaxThreads(2)
+                    .build(appContext);
+            try {
+                Future<FalconSegment[]> first = scheduler.processFile(getAudioFilepath("test.wav"));
+                Future<FalconSegment[]> second = scheduler.processFile(getAudioFilepath("test.wav"));
+                assertTrue(first.get().length > 0);
+                assertEquals(first.get().length, second.get().length);
+
+                FalconThermalScheduler.Stats stats = scheduler.getStats();
+                assertEquals(2, stats.getNumJobs());
+                assertTrue(stats.getNumThreads() >= 1 && stats.getNumThreads() <= 2);
+                assertTrue(stats.getThrottledMs() <= stats.getTotalMs());
+            } finally {
+                scheduler.delete();
+            }
+
+            boolean didFail = false;
+            try {
+                scheduler.processFile(getAudioFilepath("test.wav"));
+            } catch (FalconException e) {
+                didFail = true;
+            }
+            assertTrue(didFail);
+        }
+
+        @Test
+        public void testTracing() throws Exception {
+            FalconTrace.setEnabled(true);
+            try {
+                Falcon falcon = new Falcon.Builder()
+                        .setAccessKey(accessKey)
+                        .setDevice(device)
+                        .build(appContext);
+                assertTrue(falcon.process(new short[falcon.getSampleRate()]) != null);
+                // Toggling while an instance is alive must not unbalance the trace sections.
+                FalconTrace.setEnabled(false);
+                falcon.processFile(getAudioFilepath("test.wav"));
+                falcon.delete();
+            } finally {
+                FalconTrace.setEnabled(false);
+            }
+            assertFalse(FalconTrace.isEnabled());
+        }
+
         @Test
         public void testGetAvailableDevices() throws FalconException {
             String[] availableDevices = Falcon.getAvailableDevices();
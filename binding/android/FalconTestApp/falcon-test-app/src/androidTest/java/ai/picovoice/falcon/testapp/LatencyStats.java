@@ -0,0 +1,89 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon.testapp;
+
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples and summarizes them as mean, percentiles and max.
+ */
+public class LatencyStats {
+
+    private long[] samplesNSec = new long[32];
+    private int numSamples = 0;
+
+    public void add(long nSec) {
+        if (numSamples == samplesNSec.length) {
+            samplesNSec = Arrays.copyOf(samplesNSec, samplesNSec.length * 2);
+        }
+        samplesNSec[numSamples++] = nSec;
+    }
+
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    public double getMeanSec() {
+        double total = 0;
+        for (int i = 0; i < numSamples; i++) {
+            total += samplesNSec[i];
+        }
+        return numSamples == 0 ? 0 : total / numSamples * 1e-9;
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param percentile Percentile in (0, 100].
+     * @return Latency in seconds.
+     */
+    public double getPercentileSec(double percentile) {
+        if (numSamples == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samplesNSec, numSamples);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * numSamples);
+        return sorted[Math.max(0, Math.min(numSamples, rank) - 1)] * 1e-9;
+    }
+
+    public double getMaxSec() {
+        return getPercentileSec(100);
+    }
+
+    /**
+     * Summary in seconds, divided by `scale`. Pass the audio length to get real-time factors.
+     */
+    public JsonObject toJson(double scale) {
+        JsonObject json = new JsonObject();
+        json.addProperty("mean", getMeanSec() / scale);
+        json.addProperty("p50", getPercentileSec(50) / scale);
+        json.addProperty("p90", getPercentileSec(90) / scale);
+        json.addProperty("p99", getPercentileSec(99) / scale);
+        json.addProperty("max", getMaxSec() / scale);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "mean %.3fs, p50 %.3fs, p90 %.3fs, p99 %.3fs, max %.3fs",
+                getMeanSec(),
+                getPercentileSec(50),
+                getPercentileSec(90),
+                getPercentileSec(99),
+                getMaxSec());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon.testapp;
+
+import android.os.Debug;
+
+/**
+ * Polls Java and native heap usage on a background thread and keeps the peaks. Native allocations
+ * made inside a single engine call are only visible from another thread, which is why this does
+ * not sample inline.
+ */
+public class MemorySampler implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MS = 5;
+
+    private final Thread thread;
+    private volatile boolean isRunning = true;
+    private volatile long peakJavaHeapBytes = 0;
+    private volatile long peakNativeHeapBytes = 0;
+
+    public MemorySampler() {
+        sample();
+        thread = new Thread(() -> {
+            while (isRunning) {
+                sample();
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "memory-sampler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long getPeakJavaHeapBytes() {
+        return peakJavaHeapBytes;
+    }
+
+    public long getPeakNativeHeapBytes() {
+        return peakNativeHeapBytes;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        isRunning = false;
+        thread.interrupt();
+        thread.join();
+        sample();
+    }
+
+    private void sample() {
+        Runtime runtime = Runtime.getRuntime();
+        peakJavaHeapBytes = Math.max(peakJavaHeapBytes, runtime.totalMemory() - runtime.freeMemory());
+        peakNativeHeapBytes = Math.max(peakNativeHeapBytes, Debug.getNativeHeapAllocatedSize());
+    }
+}
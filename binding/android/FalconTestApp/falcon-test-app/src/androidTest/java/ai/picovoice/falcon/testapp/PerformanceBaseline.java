@@ -0,0 +1,137 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon.testapp;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares measured performance against `performance_baseline.json`. A metric given as a number is
+ * a measured baseline and regresses when it exceeds that number by more than the relative
+ * `tolerance`. A metric given as `{"limit": x}` is a hard limit and regresses as soon as it exceeds
+ * `x`. Metrics without a baseline are reported but never fail.
+ */
+public class PerformanceBaseline {
+
+    private static final String PLATFORM = "android";
+
+    private final JsonObject baselines;
+    private final double tolerance;
+    private final List<Row> rows = new ArrayList<>();
+
+    private PerformanceBaseline(JsonObject baselines, double tolerance) {
+        this.baselines = baselines;
+        this.tolerance = tolerance;
+    }
+
+    public static PerformanceBaseline load(String json, String device) {
+        JsonObject root = new JsonParser().parse(json).getAsJsonObject();
+        double tolerance = root.get("tolerance").getAsDouble();
+
+        JsonObject baselines = null;
+        JsonObject platform = root.getAsJsonObject("baselines").getAsJsonObject(PLATFORM);
+        if (platform != null && platform.has(device)) {
+            baselines = platform.getAsJsonObject(device);
+        }
+        return new PerformanceBaseline(baselines, tolerance);
+    }
+
+    /**
+     * Records a measurement.
+     *
+     * @param section  Section of the baseline, e.g. `init`, `processFile` or `process/60`.
+     * @param metric   Metric within the section, e.g. `latencySec`, `rtf` or `peakNativeHeapBytes`.
+     * @param measured Measured value.
+     */
+    public void compare(String section, String metric, double measured) {
+        Double baseline = null;
+        double allowed = tolerance;
+        JsonElement element = baselines;
+        for (String key : section.split("/")) {
+            element = element != null && element.isJsonObject() ? element.getAsJsonObject().get(key) : null;
+        }
+        if (element != null && element.isJsonObject()) {
+            JsonElement value = element.getAsJsonObject().get(metric);
+            if (value != null && value.isJsonObject()) {
+                JsonElement limit = value.getAsJsonObject().get("limit");
+                if (limit != null && !limit.isJsonNull()) {
+                    baseline = limit.getAsDouble();
+                    allowed = 0;
+                }
+            } else if (value != null && !value.isJsonNull()) {
+                baseline = value.getAsDouble();
+            }
+        }
+        rows.add(new Row(section + " " + metric, baseline, allowed, measured));
+    }
+
+    public boolean hasRegressions() {
+        for (Row row : rows) {
+            if (row.isRegression()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String formatTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-36s %14s %14s %9s  %s%n", "metric", "baseline", "measured", "change", "status"));
+        for (Row row : rows) {
+            if (row.baseline == null) {
+                sb.append(String.format(
+                        "%-36s %14s %14s %9s  %s%n",
+                        row.name,
+                        "n/a",
+                        formatValue(row.measured),
+                        "-",
+                        "new"));
+            } else {
+                sb.append(String.format(
+                        "%-36s %14s %14s %+8.1f%%  %s%n",
+                        row.name,
+                        formatValue(row.baseline),
+                        formatValue(row.measured),
+                        (row.measured / row.baseline - 1) * 100,
+                        row.isRegression() ? String.format("FAIL (> %+.0f%%)", row.tolerance * 100) : "ok"));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String formatValue(double value) {
+        return value >= 1000 ? String.format("%.0f", value) : String.format("%.4f", value);
+    }
+
+    private final class Row {
+        private final String name;
+        private final Double baseline;
+        private final double tolerance;
+        private final double measured;
+
+        private Row(String name, Double baseline, double tolerance, double measured) {
+            this.name = name;
+            this.baseline = baseline;
+            this.tolerance = tolerance;
+            this.measured = measured;
+        }
+
+        private boolean isRegression() {
+            return baseline != null && measured > baseline * (1 + tolerance);
+        }
+    }
+}
@@ -12,28 +12,54 @@
 
 package ai.picovoice.falcon.testapp;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import android.os.Build;
+import android.util.Log;
 
 import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 
+import org.junit.AfterClass;
 import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import ai.picovoice.falcon.Falcon;
 
 @RunWith(AndroidJUnit4.class)
 public class PerformanceTest extends BaseTest {
 
+    private static final String TAG = "FalconPerformanceTest";
+    private static final String REPORT_FILENAME = "falcon_performance_report.json";
+
+    private static final int[] AUDIO_LENGTHS_SEC = {10, 30, 60, 120, 300};
+    // Long inputs get fewer iterations so the whole ladder takes a bounded amount of time.
+    private static final int LADDER_BUDGET_SEC = 600;
+    private static final int MIN_LADDER_ITERATIONS = 3;
+    // Latency and real-time factor are gated on the tail as well as the mean.
+    private static final String[] STATISTICS = {"mean", "p90", "p99"};
+
+    private static final JsonObject report = new JsonObject();
+
     int numTestIterations = 30;
 
     @Before
     public void Setup() throws IOException {
         super.Setup();
+        Assume.assumeFalse(accessKey.equals(""));
         String iterationString = appContext.getString(R.string.numTestIterations);
 
         try {
@@ -41,14 +67,33 @@ public class PerformanceTest extends BaseTest {
         } catch (NumberFormatException ignored) { }
     }
 
+    @AfterClass
+    public static void writeReport() throws IOException {
+        if (report.size() == 0) {
+            return;
+        }
+        report.addProperty("deviceModel", Build.MANUFACTURER + " " + Build.MODEL);
+        report.addProperty("sdkInt", Build.VERSION.SDK_INT);
+
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        Log.i(TAG, json);
+
+        File dir = InstrumentationRegistry.getInstrumentation().getTargetContext().getExternalFilesDir(null);
+        if (dir == null) {
+            return;
+        }
+        OutputStream os = new FileOutputStream(new File(dir, REPORT_FILENAME));
+        try {
+            os.write(json.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+    }
+
     @Test
     public void testInitPerformance() throws Exception {
-        String initThresholdString = appContext.getString(R.string.initPerformanceThresholdSec);
-        Assume.assumeNotNull(initThresholdString);
-        Assume.assumeFalse(initThresholdString.equals(""));
-        double initPerformanceThresholdSec = Double.parseDouble(initThresholdString);
-
-        long totalNSec = 0;
+        LatencyStats stats = new LatencyStats();
+        MemorySampler memory = new MemorySampler();
         for (int i = 0; i < numTestIterations + 1; i++) {
             long before = System.nanoTime();
             Falcon falcon = new Falcon.Builder()
@@ -59,35 +104,35 @@ public class PerformanceTest extends BaseTest {
 
             // throw away first run to account for cold start
             if (i > 0) {
-                totalNSec += (after - before);
+                stats.add(after - before);
             }
 
             falcon.delete();
         }
+        memory.close();
 
-        double avgNSec = totalNSec / (double) numTestIterations;
-        double avgSec = ((double) Math.round(avgNSec * 1e-6)) / 1000.0;
-        assertTrue(
-                String.format("Expected threshold (%.3fs), init took (%.3fs)", initPerformanceThresholdSec, avgSec),
-                avgSec <= initPerformanceThresholdSec
-        );
+        JsonObject result = toJson(stats, memory);
+        result.add("latencySec", stats.toJson(1.0));
+        report.add("init", result);
+        Log.i(TAG, String.format("init: %s", stats));
+
+        PerformanceBaseline baseline = loadBaseline();
+        compare(baseline, "init", stats, memory, 1.0);
+        assertWithinBaseline(baseline);
     }
 
     @Test
     public void testProcPerformance() throws Exception {
-        String procThresholdString = appContext.getString(R.string.procPerformanceThresholdSec);
-        Assume.assumeNotNull(procThresholdString);
-        Assume.assumeFalse(procThresholdString.equals(""));
-        double procPerformanceThresholdSec = Double.parseDouble(procThresholdString);
-
         Falcon falcon = new Falcon.Builder()
                 .setAccessKey(accessKey)
                 .setDevice(device)
                 .build(appContext);
 
         File audioFile = new File(getAudioFilepath("test.wav"));
+        double audioLengthSec = readAudioFile(audioFile.getAbsolutePath()).length / (double) falcon.getSampleRate();
 
-        long totalNSec = 0;
+        LatencyStats stats = new LatencyStats();
+        MemorySampler memory = new MemorySampler();
         for (int i = 0; i < numTestIterations + 1; i++) {
             long before = System.nanoTime();
             falcon.processFile(audioFile.getAbsolutePath());
@@ -95,16 +140,143 @@ public class PerformanceTest extends BaseTest {
 
             // throw away first run to account for cold start
             if (i > 0) {
-                totalNSec += (after - before);
+                stats.add(after - before);
+            }
+        }
+        memory.close();
+        report.addProperty("version", falcon.getVersion());
+        falcon.delete();
+
+        JsonObject result = toJson(stats, memory);
+        result.addProperty("audioLengthSec", audioLengthSec);
+        result.add("latencySec", stats.toJson(1.0));
+        result.add("rtf", stats.toJson(audioLengthSec));
+        report.add("processFile", result);
+        Log.i(TAG, String.format("processFile: %s", stats));
+
+        PerformanceBaseline baseline = loadBaseline();
+        compare(baseline, "processFile", stats, memory, audioLengthSec);
+        assertWithinBaseline(baseline);
+    }
+
+    @Test
+    public void testProcLadderPerformance() throws Exception {
+        Falcon falcon = new Falcon.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device)
+                .build(appContext);
+        short[] source = readAudioSamples();
+
+        PerformanceBaseline baseline = loadBaseline();
+        JsonArray results = new JsonArray();
+        for (int audioLengthSec : AUDIO_LENGTHS_SEC) {
+            short[] pcm = tile(source, audioLengthSec * falcon.getSampleRate());
+            int numIterations = Math.max(
+                    MIN_LADDER_ITERATIONS,
+                    Math.min(numTestIterations, LADDER_BUDGET_SEC / audioLengthSec));
+
+            LatencyStats stats = new LatencyStats();
+            MemorySampler memory = new MemorySampler();
+            for (int i = 0; i < numIterations + 1; i++) {
+                long before = System.nanoTime();
+                falcon.process(pcm);
+                long after = System.nanoTime();
+
+                // throw away first run to account for cold start
+                if (i > 0) {
+                    stats.add(after - before);
+                }
             }
+            memory.close();
+
+            JsonObject result = toJson(stats, memory);
+            result.addProperty("audioLengthSec", audioLengthSec);
+            result.add("latencySec", stats.toJson(1.0));
+            result.add("rtf", stats.toJson(audioLengthSec));
+            results.add(result);
+            Log.i(TAG, String.format("process %ds: %s", audioLengthSec, stats));
+
+            compare(baseline, "process/" + audioLengthSec, stats, memory, audioLengthSec);
         }
         falcon.delete();
 
-        double avgNSec = totalNSec / (double) numTestIterations;
-        double avgSec = ((double) Math.round(avgNSec * 1e-6)) / 1000.0;
-        assertTrue(
-                String.format("Expected threshold (%.3fs), process took (%.3fs)", procPerformanceThresholdSec, avgSec),
-                avgSec <= procPerformanceThresholdSec
-        );
+        report.add("process", results);
+        assertWithinBaseline(baseline);
+    }
+
+    private PerformanceBaseline loadBaseline() throws IOException {
+        return PerformanceBaseline.load(getTestResourceString("performance_baseline.json"), device);
+    }
+
+    private static void compare(
+            PerformanceBaseline baseline,
+            String section,
+            LatencyStats stats,
+            MemorySampler memory,
+            double audioLengthSec) {
+        for (String statistic : STATISTICS) {
+            double latencySec = getStatisticSec(stats, statistic);
+            baseline.compare(section + "/latencySec", statistic, latencySec);
+            baseline.compare(section + "/rtf", statistic, latencySec / audioLengthSec);
+        }
+        baseline.compare(section, "peakJavaHeapBytes", memory.getPeakJavaHeapBytes());
+        baseline.compare(section, "peakNativeHeapBytes", memory.getPeakNativeHeapBytes());
+    }
+
+    private static double getStatisticSec(LatencyStats stats, String statistic) {
+        if (statistic.equals("mean")) {
+            return stats.getMeanSec();
+        }
+        return stats.getPercentileSec(Double.parseDouble(statistic.substring(1)));
+    }
+
+    private static void assertWithinBaseline(PerformanceBaseline baseline) {
+        String table = baseline.formatTable();
+        Log.i(TAG, "\n" + table);
+        assertFalse("Performance regressed against performance_baseline.json:\n" + table, baseline.hasRegressions());
+    }
+
+    private JsonObject toJson(LatencyStats stats, MemorySampler memory) {
+        JsonObject json = new JsonObject();
+        json.addProperty("device", device);
+        json.addProperty("iterations", stats.getNumSamples());
+        json.addProperty("peakJavaHeapBytes", memory.getPeakJavaHeapBytes());
+        json.addProperty("peakNativeHeapBytes", memory.getPeakNativeHeapBytes());
+        return json;
+    }
+
+    /**
+     * Concatenates every audio sample shipped with the tests.
+     */
+    private short[] readAudioSamples() throws Exception {
+        String[] filenames = testContext.getAssets().list("test_resources/audio_samples");
+        List<short[]> samples = new ArrayList<>();
+        int totalLength = 0;
+        if (filenames != null) {
+            for (String filename : filenames) {
+                if (filename.endsWith(".wav")) {
+                    short[] pcm = readAudioFile(getAudioFilepath(filename));
+                    samples.add(pcm);
+                    totalLength += pcm.length;
+                }
+            }
+        }
+        Assume.assumeTrue(totalLength > 0);
+
+        short[] source = new short[totalLength];
+        int offset = 0;
+        for (short[] pcm : samples) {
+            System.arraycopy(pcm, 0, source, offset, pcm.length);
+            offset += pcm.length;
+        }
+        return source;
+    }
+
+    private static short[] tile(short[] source, int numSamples) {
+        short[] pcm = new short[numSamples];
+        for (int offset = 0; offset < numSamples; offset += source.length) {
+            System.arraycopy(source, 0, pcm, offset, Math.min(source.length, numSamples - offset));
+        }
+        return pcm;
     }
 }
@@ -0,0 +1,72 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Configuration and audio helpers shared by the benchmarks. Settings are read from the same system
+ * properties as the unit tests.
+ */
+final class BenchmarkUtils {
+
+    static final String ACCESS_KEY = System.getProperty("pvTestingAccessKey", "");
+    static final String DEVICE = System.getProperty("pvTestingDevice", "best");
+    static final Path RESOURCES_PATH = Paths.get(System.getProperty("pvTestingResourcesPath", "../../resources"));
+
+    private static final int WAV_HEADER_SAMPLES = 22;
+
+    private BenchmarkUtils() {
+    }
+
+    static Falcon.Builder falconBuilder(String device) {
+        if (ACCESS_KEY.equals("")) {
+            throw new IllegalStateException("pvTestingAccessKey is not set.");
+        }
+        return new Falcon.Builder()
+                .setAccessKey(ACCESS_KEY)
+                .setDevice(device);
+    }
+
+    static Path getAudioFilepath(String audioFilename) {
+        return RESOURCES_PATH.resolve("audio_samples").resolve(audioFilename);
+    }
+
+    /**
+     * Reads the samples of `test.wav`.
+     */
+    static short[] readTestAudio() throws IOException {
+        byte[] rawData = Files.readAllBytes(getAudioFilepath("test.wav"));
+        short[] raw = new short[rawData.length / 2];
+        ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(raw);
+        return Arrays.copyOfRange(raw, WAV_HEADER_SAMPLES, raw.length);
+    }
+
+    /**
+     * Reads `test.wav` and repeats it until it is `numSamples` long.
+     */
+    static short[] readTiledTestAudio(int numSamples) throws IOException {
+        short[] clip = readTestAudio();
+        short[] pcm = new short[numSamples];
+        for (int offset = 0; offset < numSamples; offset += clip.length) {
+            System.arraycopy(clip, 0, pcm, offset, Math.min(clip.length, numSamples - offset));
+        }
+        return pcm;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stereo recordings diarized as a mono downmix with {@link Falcon#processInterleaved(short[], int, int)}
+ * versus per channel in parallel with {@link FalconChannelDiarizer}. Each channel repeats `test.wav`,
+ * with the right channel shifted by half a clip so the channels differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+public class ChannelDiarizationBenchmark {
+
+    @Param({"60", "600"})
+    public int audioLengthSec;
+
+    private Falcon falcon;
+    private FalconChannelDiarizer diarizer;
+    private short[] stereo;
+    private int sampleRate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FalconException, IOException {
+        falcon = BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE).build();
+        diarizer = new FalconChannelDiarizer.Builder()
+                .setFalconBuilder(BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE))
+                .build();
+        sampleRate = falcon.getSampleRate();
+
+        int numFrames = audioLengthSec * sampleRate;
+        short[] speech = BenchmarkUtils.readTestAudio();
+        stereo = new short[2 * numFrames];
+        for (int i = 0; i < numFrames; i++) {
+            stereo[2 * i] = speech[i % speech.length];
+            stereo[2 * i + 1] = speech[(i + speech.length / 2) % speech.length];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        diarizer.delete();
+        falcon.delete();
+    }
+
+    @Benchmark
+    public FalconSegment[] downmix() throws FalconException {
+        return falcon.processInterleaved(stereo, sampleRate, 2);
+    }
+
+    @Benchmark
+    public FalconChannelSegment[] perChannel() throws FalconException {
+        return diarizer.process(stereo, sampleRate);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how {@link Falcon#process(MemorySegment)} scales with input length. Inputs of each length
+ * are synthesized from `test.wav`, wall time and peak resident memory are recorded per call, and a
+ * power law `cost = a * minutes^b` is fitted to both. An exponent above
+ * `1 + SUPERLINEAR_TOLERANCE` is reported as superlinear and fails the run.
+ *
+ * Each length is measured in a fresh JVM with the same options, after an untimed warm-up call on
+ * `test.wav`. Memory freed by an earlier, longer run therefore cannot hide the growth of a later
+ * one, and first-call costs are not charged to the shortest input.
+ *
+ * Not a JMH benchmark: a single call on an hour of audio is long enough that JMH iterations add
+ * nothing, and the fit needs all lengths together. Run with `./gradlew longAudioScaling`.
+ */
+public final class LongAudioScaling {
+
+    private static final int[] DEFAULT_LENGTHS_MIN = {1, 5, 15, 30, 60};
+    private static final double SUPERLINEAR_TOLERANCE = 0.1;
+    private static final long RSS_SAMPLE_INTERVAL_MS = 10;
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+    private static final String MEASURE_ARG = "--measure";
+
+    private LongAudioScaling() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals(MEASURE_ARG)) {
+            measure(Integer.parseInt(args[1]));
+            return;
+        }
+
+        int[] lengthsMin = parseLengths(System.getProperty("pvLongAudioMinutes"));
+        Path reportPath = args.length > 0 ? Paths.get(args[0]) : null;
+
+        double[] minutes = new double[lengthsMin.length];
+        double[] wallSec = new double[lengthsMin.length];
+        double[] peakBytes = new double[lengthsMin.length];
+
+        System.out.printf("%8s %12s %10s %16s %10s%n", "minutes", "wall (s)", "RTF", "peak RSS (MB)", "segments");
+        for (int i = 0; i < lengthsMin.length; i++) {
+            String[] result = measureInFreshJvm(lengthsMin[i]);
+            long wallNs = Long.parseLong(result[0]);
+            long peakDelta = Long.parseLong(result[1]);
+
+            minutes[i] = lengthsMin[i];
+            wallSec[i] = wallNs * 1e-9;
+            peakBytes[i] = Math.max(1, peakDelta);
+            System.out.printf(
+                    "%8d %12.2f %10.4f %16.1f %10s%n",
+                    lengthsMin[i],
+                    wallSec[i],
+                    wallSec[i] / (lengthsMin[i] * 60.0),
+                    peakDelta / (1024.0 * 1024.0),
+                    result[2]);
+        }
+
+        double timeExponent = fitExponent(minutes, wallSec);
+        double memoryExponent = fitExponent(minutes, peakBytes);
+        boolean isTimeSuperlinear = timeExponent > 1 + SUPERLINEAR_TOLERANCE;
+        boolean isMemorySuperlinear = memoryExponent > 1 + SUPERLINEAR_TOLERANCE;
+        System.out.printf(
+                "%nwall time ~ minutes^%.3f%s%npeak memory ~ minutes^%.3f%s%n",
+                timeExponent,
+                isTimeSuperlinear ? "  SUPERLINEAR" : "",
+                memoryExponent,
+                isMemorySuperlinear ? "  SUPERLINEAR" : "");
+
+        if (reportPath != null) {
+            writeReport(reportPath, lengthsMin, wallSec, peakBytes, timeExponent, memoryExponent);
+        }
+        if (isTimeSuperlinear || isMemorySuperlinear) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs {@link #measure(int)} for one length in a child JVM started with this JVM's options and
+     * returns the fields it prints: wall nanoseconds, peak RSS delta in bytes and segment count.
+     */
+    private static String[] measureInFreshJvm(int lengthMin) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LongAudioScaling.class.getName());
+        command.add(MEASURE_ARG);
+        command.add(Integer.toString(lengthMin));
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        int exitCode = process.waitFor();
+        String[] fields = output.isEmpty() ? new String[0] : output.split("\\s+");
+        if (exitCode != 0 || fields.length != 3) {
+            throw new IllegalStateException(String.format(
+                    "Measuring %d minutes of audio failed with exit code %d.",
+                    lengthMin,
+                    exitCode));
+        }
+        return fields;
+    }
+
+    /**
+     * Measures a single call on `lengthMin` minutes of audio and prints the result on one line.
+     */
+    private static void measure(int lengthMin) throws Exception {
+        Falcon falcon = BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE).build();
+        short[] clip = BenchmarkUtils.readTestAudio();
+
+        // Untimed warm-up, so class loading, JIT and the engine's first-call setup are not measured.
+        falcon.process(clip);
+
+        long numSamples = (long) lengthMin * 60 * falcon.getSampleRate();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment pcm = arena.allocate(ValueLayout.JAVA_SHORT, numSamples);
+            synthesize(clip, pcm, numSamples);
+
+            RssSampler sampler = new RssSampler();
+            long before = System.nanoTime();
+            FalconSegment[] segments = falcon.process(pcm);
+            long after = System.nanoTime();
+            long peakDelta = sampler.stop();
+
+            System.out.printf("%d %d %d%n", after - before, peakDelta, segments.length);
+        } finally {
+            falcon.delete();
+        }
+    }
+
+    /**
+     * Fills `pcm` with rotated copies of `clip`. Every other copy has a second rotation mixed in at
+     * half gain, so the input has overlapping speech and many speaker turns rather than one clip
+     * repeated verbatim.
+     */
+    static void synthesize(short[] clip, MemorySegment pcm, long numSamples) {
+        int length = clip.length;
+        long offset = 0;
+        for (int copy = 0; offset < numSamples; copy++) {
+            int rotation = (int) ((copy * 7919L) % length);
+            int overlay = (rotation + length / 2) % length;
+            int n = (int) Math.min(length, numSamples - offset);
+            for (int j = 0; j < n; j++) {
+                int sample = clip[(rotation + j) % length];
+                if ((copy & 1) == 1) {
+                    sample += clip[(overlay + j) % length] / 2;
+                }
+                sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+                pcm.setAtIndex(ValueLayout.JAVA_SHORT, offset + j, (short) sample);
+            }
+            offset += n;
+        }
+    }
+
+    /**
+     * Least-squares slope of `log(y)` against `log(x)`.
+     */
+    static double fitExponent(double[] x, double[] y) {
+        int n = x.length;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            double lx = Math.log(x[i]);
+            double ly = Math.log(y[i]);
+            sumX += lx;
+            sumY += ly;
+            sumXX += lx * lx;
+            sumXY += lx * ly;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    private static int[] parseLengths(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT_LENGTHS_MIN;
+        }
+        String[] parts = value.split(",");
+        int[] lengths = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            lengths[i] = Integer.parseInt(parts[i].trim());
+        }
+        return lengths;
+    }
+
+    private static void writeReport(
+            Path path,
+            int[] lengthsMin,
+            double[] wallSec,
+            double[] peakBytes,
+            double timeExponent,
+            double memoryExponent) throws IOException {
+        List<String> runs = new ArrayList<>();
+        for (int i = 0; i < lengthsMin.length; i++) {
+            runs.add(String.format(
+                    "    {\"minutes\": %d, \"wallSec\": %.3f, \"rtf\": %.5f, \"peakRssBytes\": %.0f}",
+                    lengthsMin[i],
+                    wallSec[i],
+                    wallSec[i] / (lengthsMin[i] * 60.0),
+                    peakBytes[i]));
+        }
+        String json = String.format(
+                "{%n  \"device\": \"%s\",%n  \"timeExponent\": %.4f,%n  \"memoryExponent\": %.4f,%n" +
+                        "  \"runs\": [%n%s%n  ]%n}%n",
+                BenchmarkUtils.DEVICE,
+                timeExponent,
+                memoryExponent,
+                String.join(",\n", runs));
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tracks the peak resident set size of the process above its level at construction. Sampled on a
+     * background thread because the engine allocates and frees inside a single call.
+     */
+    private static final class RssSampler {
+        private final long baselineBytes;
+        private final Thread thread;
+        private volatile boolean isRunning = true;
+        private volatile long peakBytes;
+
+        private RssSampler() throws IOException {
+            baselineBytes = readRssBytes();
+            peakBytes = baselineBytes;
+            thread = new Thread(() -> {
+                while (isRunning) {
+                    try {
+                        peakBytes = Math.max(peakBytes, readRssBytes());
+                        Thread.sleep(RSS_SAMPLE_INTERVAL_MS);
+                    } catch (IOException | InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "rss-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private long stop() throws IOException, InterruptedException {
+            isRunning = false;
+            thread.join();
+            return Math.max(peakBytes, readRssBytes()) - baselineBytes;
+        }
+
+        private static long readRssBytes() throws IOException {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+            return 0;
+        }
+    }
+}
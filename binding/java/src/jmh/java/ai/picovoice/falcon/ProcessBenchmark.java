@@ -0,0 +1,73 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link Falcon#process(short[])} and {@link Falcon#processInto(short[], FalconSegmentBuffer)}
+ * across audio lengths. Inputs are built by repeating `test.wav`. Dividing the reported time by the
+ * audio length gives the real-time factor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+public class ProcessBenchmark {
+
+    @Param({"10", "60", "300", "900", "1800", "3600"})
+    public int audioLengthSec;
+
+    private Falcon falcon;
+    private short[] pcm;
+    private FalconSegmentBuffer segments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FalconException, IOException {
+        falcon = BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE).build();
+        pcm = BenchmarkUtils.readTiledTestAudio(audioLengthSec * falcon.getSampleRate());
+        segments = new FalconSegmentBuffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        falcon.delete();
+    }
+
+    @Benchmark
+    public FalconSegment[] process() throws FalconException {
+        return falcon.process(pcm);
+    }
+
+    @Benchmark
+    public int processInto() throws FalconException {
+        return falcon.processInto(pcm, segments);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link Falcon#processFile(String)} for every accepted file extension. `test.<format>`
+ * is taken from `audio_samples` when present and otherwise transcoded from `test.wav` with `ffmpeg`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+public class ProcessFileBenchmark {
+
+    @Param({"3gp", "flac", "m4a", "mp3", "mp4", "ogg", "opus", "vorbis", "wav", "webm"})
+    public String format;
+
+    private Falcon falcon;
+    private Path tempDir;
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FalconException, IOException, InterruptedException {
+        falcon = BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE).build();
+
+        Path audioFile = BenchmarkUtils.getAudioFilepath("test." + format);
+        if (!Files.exists(audioFile)) {
+            tempDir = Files.createTempDirectory("falcon-benchmark");
+            audioFile = tempDir.resolve("test." + format);
+            transcode(BenchmarkUtils.getAudioFilepath("test.wav"), audioFile);
+        }
+        path = audioFile.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        falcon.delete();
+        if (tempDir != null) {
+            Files.deleteIfExists(Path.of(path));
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
+    @Benchmark
+    public FalconSegment[] processFile() throws FalconException {
+        return falcon.processFile(path);
+    }
+
+    private void transcode(Path src, Path dst) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Arrays.asList(
+                "ffmpeg", "-hide_banner", "-loglevel", "error", "-y", "-i", src.toString()));
+        switch (format) {
+            case "3gp":
+                command.addAll(Arrays.asList("-ar", "8000", "-c:a", "libopencore_amrnb", "-b:a", "12.2k"));
+                break;
+            case "m4a":
+            case "mp4":
+                command.addAll(Arrays.asList("-c:a", "aac"));
+                break;
+            case "mp3":
+                command.addAll(Arrays.asList("-c:a", "libmp3lame"));
+                break;
+            case "ogg":
+            case "vorbis":
+                command.addAll(Arrays.asList("-c:a", "libvorbis", "-f", "ogg"));
+                break;
+            case "opus":
+                command.addAll(Arrays.asList("-c:a", "libopus", "-f", "ogg"));
+                break;
+            case "webm":
+                command.addAll(Arrays.asList("-c:a", "libopus", "-f", "webm"));
+                break;
+            case "wav":
+                Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            default:
+                break;
+        }
+        command.add(dst.toString());
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IOException(String.format(
+                    "Could not create '%s' with ffmpeg. Place a `test.%s` file in audio_samples instead.",
+                    dst,
+                    format));
+        }
+    }
+}
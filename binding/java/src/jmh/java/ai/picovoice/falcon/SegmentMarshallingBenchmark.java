@@ -0,0 +1,83 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of copying `pv_segment_t` results out of native memory, into a reused
+ * {@link FalconSegmentBuffer} and into a new {@link FalconSegment} array. Does not need the engine or
+ * an AccessKey.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+public class SegmentMarshallingBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int numSegments;
+
+    private Arena arena;
+    private MemorySegment nativeSegments;
+    private FalconSegmentBuffer segments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        arena = Arena.ofShared();
+        nativeSegments = arena.allocate(FalconNative.SEGMENT_LAYOUT, numSegments);
+        long size = FalconNative.SEGMENT_LAYOUT.byteSize();
+        for (int i = 0; i < numSegments; i++) {
+            nativeSegments.set(ValueLayout.JAVA_FLOAT, i * size, i);
+            nativeSegments.set(ValueLayout.JAVA_FLOAT, i * size + 4, i + 0.5f);
+            nativeSegments.set(ValueLayout.JAVA_INT, i * size + 8, i % 4 + 1);
+        }
+        segments = new FalconSegmentBuffer(numSegments);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public FalconSegmentBuffer copyToBuffer() {
+        FalconNative.copySegments(nativeSegments, numSegments, segments);
+        return segments;
+    }
+
+    @Benchmark
+    public FalconSegment[] copyToArray() {
+        FalconNative.copySegments(nativeSegments, numSegments, segments);
+        return segments.toArray();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup from {@link SilenceSkipper} on recordings with a given share of silence. Inputs alternate
+ * `test.wav` with stretches of digital silence sized so that silence makes up `silencePercent` of
+ * the total. The ratio of `processFull` to `processSkipped` is the speedup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+public class SilenceSkippingBenchmark {
+
+    private static final int AUDIO_LENGTH_SEC = 600;
+
+    @Param({"0", "40", "60"})
+    public int silencePercent;
+
+    private Falcon falcon;
+    private SilenceSkipper skipper;
+    private short[] pcm;
+    private FalconSegmentBuffer segments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FalconException, IOException {
+        falcon = BenchmarkUtils.falconBuilder(BenchmarkUtils.DEVICE).build();
+        skipper = new SilenceSkipper.Builder().build();
+        segments = new FalconSegmentBuffer();
+
+        short[] speech = BenchmarkUtils.readTestAudio();
+        int silenceLength = (int) ((long) speech.length * silencePercent / (100 - silencePercent));
+        pcm = new short[AUDIO_LENGTH_SEC * falcon.getSampleRate()];
+        for (int offset = 0; offset < pcm.length; offset += speech.length + silenceLength) {
+            System.arraycopy(speech, 0, pcm, offset, Math.min(speech.length, pcm.length - offset));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println();
+        System.out.println(skipper.getLastStats());
+        falcon.delete();
+    }
+
+    @Benchmark
+    public int processFull() throws FalconException {
+        return falcon.processInto(pcm, segments);
+    }
+
+    @Benchmark
+    public int processSkipped() throws FalconException {
+        return skipper.processInto(falcon, pcm, segments);
+    }
+}
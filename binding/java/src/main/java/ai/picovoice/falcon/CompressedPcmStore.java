@@ -0,0 +1,401 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact in-memory container for long recordings that cannot be written to disk.
+ *
+ * Audio is split into blocks of {@link #BLOCK_SAMPLES} samples. Each block stores its first sample
+ * as-is, then the zigzag-encoded differences between consecutive samples, packed with the fewest
+ * bits that fit the block's largest difference. Silence and quiet passages pack into a few bits per
+ * sample while loud speech stays close to 16, so typical recordings shrink by 2x or more without
+ * loss. For larger savings, {@link Builder#setQuantizationBits(int)} drops low-order bits before
+ * encoding (near-lossless).
+ *
+ * Blocks are decoded independently, so {@link #process(Falcon)} decodes the recording block by
+ * block straight into the native buffer the engine reads, and {@link #read(long, short[], int, int)}
+ * returns any range, e.g. to feed a {@link FalconStream}.
+ *
+ * The compression only applies while audio is stored. Falcon diarizes a recording in a single call,
+ * so {@link #process(Falcon)} still needs an uncompressed native buffer of the full length (2 bytes
+ * per sample) for the duration of the call. To diarize with a bounded peak, feed a
+ * {@link FalconStream} from {@link #read(long, short[], int, int)} instead.
+ */
+public class CompressedPcmStore {
+
+    static final int BLOCK_SAMPLES = 256;
+
+    private static final int PAGE_SIZE = 64 * 1024;
+    // Bit width byte, 16-bit first sample, then up to 17 bits per difference.
+    private static final int MAX_BLOCK_BYTES = 3 + ((BLOCK_SAMPLES - 1) * 17 + 7) / 8;
+
+    private final int sampleRate;
+    private final int quantizationBits;
+
+    private final List<byte[]> pages = new ArrayList<>();
+    private int pagePosition = PAGE_SIZE;
+    private long[] blockOffsets = new long[64];
+    private int numBlocks = 0;
+
+    private final short[] pending = new short[BLOCK_SAMPLES];
+    private int numPending = 0;
+    private final byte[] scratch = new byte[MAX_BLOCK_BYTES];
+
+    private CompressedPcmStore(int sampleRate, int quantizationBits) {
+        this.sampleRate = sampleRate;
+        this.quantizationBits = quantizationBits;
+    }
+
+    /**
+     * Appends a frame of audio.
+     *
+     * @param frame Audio samples.
+     * @throws FalconException if the frame is invalid.
+     */
+    public void append(short[] frame) throws FalconException {
+        if (frame == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to CompressedPcmStore append.");
+        }
+
+        append(frame, 0, frame.length);
+    }
+
+    /**
+     * Appends a range of a frame of audio.
+     *
+     * @param frame  Audio samples.
+     * @param offset Index of the first sample to append.
+     * @param length Number of samples to append.
+     * @throws FalconException if the frame or range is invalid.
+     */
+    public synchronized void append(short[] frame, int offset, int length) throws FalconException {
+        if (frame == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to CompressedPcmStore append.");
+        }
+
+        if (offset < 0 || length < 0 || offset > frame.length - length) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Invalid range (offset %d, length %d) for a frame of %d samples passed to " +
+                                    "CompressedPcmStore append.",
+                            offset,
+                            length,
+                            frame.length));
+        }
+
+        int appended = 0;
+        while (appended < length) {
+            int n = Math.min(length - appended, BLOCK_SAMPLES - numPending);
+            System.arraycopy(frame, offset + appended, pending, numPending, n);
+            numPending += n;
+            appended += n;
+            if (numPending == BLOCK_SAMPLES) {
+                encodeBlock(pending);
+                numPending = 0;
+            }
+        }
+    }
+
+    /**
+     * Getter for the number of stored samples.
+     *
+     * @return Number of samples.
+     */
+    public synchronized long getNumSamples() {
+        return (long) numBlocks * BLOCK_SAMPLES + numPending;
+    }
+
+    /**
+     * Getter for the length of the stored audio.
+     *
+     * @return Length in seconds.
+     */
+    public synchronized double getLengthSec() {
+        return getNumSamples() / (double) sampleRate;
+    }
+
+    /**
+     * Getter for the memory used by the encoded audio, including the block index and unencoded tail.
+     *
+     * @return Size in bytes.
+     */
+    public synchronized long getCompressedSizeBytes() {
+        long size = numBlocks == 0 ? 0 : (long) (pages.size() - 1) * PAGE_SIZE + pagePosition;
+        return size + (long) numBlocks * Long.BYTES + (long) numPending * Short.BYTES;
+    }
+
+    /**
+     * Getter for the ratio between the size of the audio as 16-bit samples and its compressed size.
+     *
+     * @return Compression ratio, or `1` if the store is empty.
+     */
+    public synchronized double getCompressionRatio() {
+        long compressed = getCompressedSizeBytes();
+        return compressed == 0 ? 1 : (getNumSamples() * Short.BYTES) / (double) compressed;
+    }
+
+    /**
+     * Decodes a range of the stored audio.
+     *
+     * @param sampleOffset Index of the first sample to read.
+     * @param dst          Array that receives the samples.
+     * @param dstOffset    Index in `dst` of the first sample written.
+     * @param length       Maximum number of samples to read.
+     * @return Number of samples read, which is less than `length` at the end of the audio.
+     * @throws FalconException if the range is invalid.
+     */
+    public synchronized int read(long sampleOffset, short[] dst, int dstOffset, int length) throws FalconException {
+        if (dst == null) {
+            throw new FalconInvalidArgumentException("Passed null array to CompressedPcmStore read.");
+        }
+
+        if (sampleOffset < 0 || dstOffset < 0 || length < 0 || dstOffset > dst.length - length) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Invalid range (sample offset %d, offset %d, length %d) for an array of %d samples " +
+                                    "passed to CompressedPcmStore read.",
+                            sampleOffset,
+                            dstOffset,
+                            length,
+                            dst.length));
+        }
+
+        int toRead = (int) Math.max(0, Math.min(length, getNumSamples() - sampleOffset));
+        short[] block = new short[BLOCK_SAMPLES];
+        int read = 0;
+        while (read < toRead) {
+            long position = sampleOffset + read;
+            int blockIndex = (int) (position / BLOCK_SAMPLES);
+            int inBlock = (int) (position % BLOCK_SAMPLES);
+            short[] source = decodeBlockOrPending(blockIndex, block);
+            int n = Math.min(toRead - read, BLOCK_SAMPLES - inBlock);
+            System.arraycopy(source, inBlock, dst, dstOffset + read, n);
+            read += n;
+        }
+        return read;
+    }
+
+    /**
+     * Diarizes the stored audio. See {@link Falcon#process(short[])}.
+     *
+     * @param falcon Falcon instance to process the audio with.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(Falcon falcon) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInto(falcon, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Diarizes the stored audio and writes the segments into a caller-owned buffer. Blocks are
+     * decoded one at a time into native memory, so no full-length Java array is created, but the
+     * native buffer holds the whole recording uncompressed until the call returns.
+     *
+     * @param falcon   Falcon instance to process the audio with.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public synchronized int processInto(Falcon falcon, FalconSegmentBuffer segments) throws FalconException {
+        if (falcon == null) {
+            throw new FalconInvalidArgumentException("Passed null Falcon to CompressedPcmStore process.");
+        }
+
+        long numSamples = getNumSamples();
+        short[] block = new short[BLOCK_SAMPLES];
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment pcm = arena.allocate(ValueLayout.JAVA_SHORT, Math.max(1, numSamples));
+            int totalBlocks = numBlocks + (numPending > 0 ? 1 : 0);
+            for (int i = 0; i < totalBlocks; i++) {
+                short[] source = decodeBlockOrPending(i, block);
+                int n = (i < numBlocks) ? BLOCK_SAMPLES : numPending;
+                MemorySegment.copy(source, 0, pcm, ValueLayout.JAVA_SHORT, (long) i * BLOCK_SAMPLES * 2, n);
+            }
+            return falcon.processInto(pcm.asSlice(0, numSamples * 2), segments);
+        }
+    }
+
+    /**
+     * Discards all stored audio.
+     */
+    public synchronized void clear() {
+        pages.clear();
+        pagePosition = PAGE_SIZE;
+        blockOffsets = new long[64];
+        numBlocks = 0;
+        numPending = 0;
+    }
+
+    private short[] decodeBlockOrPending(int blockIndex, short[] block) {
+        if (blockIndex == numBlocks) {
+            return pending;
+        }
+        decodeBlock(blockIndex, block);
+        return block;
+    }
+
+    private void encodeBlock(short[] samples) {
+        int first = quantize(samples[0]);
+        int maxZigzag = 0;
+        int previous = first;
+        for (int i = 1; i < BLOCK_SAMPLES; i++) {
+            int current = quantize(samples[i]);
+            int delta = current - previous;
+            maxZigzag |= (delta << 1) ^ (delta >> 31);
+            previous = current;
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(maxZigzag);
+
+        scratch[0] = (byte) bits;
+        scratch[1] = (byte) first;
+        scratch[2] = (byte) (first >> 8);
+        int position = 3;
+        long accumulator = 0;
+        int numBits = 0;
+        if (bits > 0) {
+            previous = first;
+            for (int i = 1; i < BLOCK_SAMPLES; i++) {
+                int current = quantize(samples[i]);
+                int delta = current - previous;
+                accumulator |= (long) ((delta << 1) ^ (delta >> 31)) << numBits;
+                numBits += bits;
+                while (numBits >= 8) {
+                    scratch[position++] = (byte) accumulator;
+                    accumulator >>>= 8;
+                    numBits -= 8;
+                }
+                previous = current;
+            }
+            if (numBits > 0) {
+                scratch[position++] = (byte) accumulator;
+            }
+        }
+
+        if (pagePosition + position > PAGE_SIZE) {
+            pages.add(new byte[PAGE_SIZE]);
+            pagePosition = 0;
+        }
+        System.arraycopy(scratch, 0, pages.get(pages.size() - 1), pagePosition, position);
+
+        if (numBlocks == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+        }
+        blockOffsets[numBlocks++] = (long) (pages.size() - 1) * PAGE_SIZE + pagePosition;
+        pagePosition += position;
+    }
+
+    private void decodeBlock(int blockIndex, short[] dst) {
+        long offset = blockOffsets[blockIndex];
+        byte[] page = pages.get((int) (offset / PAGE_SIZE));
+        int position = (int) (offset % PAGE_SIZE);
+
+        int bits = page[position];
+        int value = (short) ((page[position + 1] & 0xFF) | (page[position + 2] << 8));
+        position += 3;
+        dst[0] = dequantize(value);
+
+        long accumulator = 0;
+        int numBits = 0;
+        int mask = (1 << bits) - 1;
+        for (int i = 1; i < BLOCK_SAMPLES; i++) {
+            if (bits > 0) {
+                while (numBits < bits) {
+                    accumulator |= (long) (page[position++] & 0xFF) << numBits;
+                    numBits += 8;
+                }
+                int zigzag = (int) accumulator & mask;
+                accumulator >>>= bits;
+                numBits -= bits;
+                value += (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            dst[i] = dequantize(value);
+        }
+    }
+
+    private int quantize(short sample) {
+        return sample >> quantizationBits;
+    }
+
+    private short dequantize(int value) {
+        if (quantizationBits == 0) {
+            return (short) value;
+        }
+        // Reconstruct at the middle of the dropped range to halve the worst-case error.
+        int sample = (value << quantizationBits) + (1 << (quantizationBits - 1));
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+    }
+
+    /**
+     * Builder for creating an instance of CompressedPcmStore.
+     */
+    public static class Builder {
+
+        private static final int DEFAULT_SAMPLE_RATE = 16000;
+        private static final int MAX_QUANTIZATION_BITS = 8;
+
+        private int sampleRate = DEFAULT_SAMPLE_RATE;
+        private int quantizationBits = 0;
+
+        /**
+         * Setter for the sample rate of the stored audio. Must equal {@link Falcon#getSampleRate()}.
+         * Defaults to 16000.
+         *
+         * @param sampleRate Sample rate in Hz.
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for the number of low-order bits dropped from each sample before encoding. `0`, the
+         * default, is lossless. `4` keeps 12 bits per sample, with an error of at most 8, well below
+         * the noise floor of typical microphone recordings.
+         *
+         * @param quantizationBits Number of bits to drop, from 0 to 8.
+         */
+        public Builder setQuantizationBits(int quantizationBits) {
+            this.quantizationBits = quantizationBits;
+            return this;
+        }
+
+        /**
+         * Creates an instance of CompressedPcmStore.
+         */
+        public CompressedPcmStore build() throws FalconException {
+            if (sampleRate <= 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("CompressedPcmStore sample rate must be positive, got %d.", sampleRate));
+            }
+
+            if (quantizationBits < 0 || quantizationBits > MAX_QUANTIZATION_BITS) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "CompressedPcmStore quantization bits must be between 0 and %d, got %d.",
+                                MAX_QUANTIZATION_BITS,
+                                quantizationBits));
+            }
+
+            return new CompressedPcmStore(sampleRate, quantizationBits);
+        }
+    }
+}
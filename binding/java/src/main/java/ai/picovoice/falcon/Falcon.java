@@ -0,0 +1,948 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Java binding for Falcon Speaker Diarization engine.
+ */
+public class Falcon {
+
+    private static String _sdk = "java";
+
+    private static final long ASYNC_KEEP_ALIVE_SEC = 60;
+
+    private long handle;
+    private final FalconCache.Key cacheKey;
+    private final String device;
+    private final FalconMetricsListener metricsListener;
+
+    private final Object processLock = new Object();
+    private final AtomicReference<PcmResampler> resampler = new AtomicReference<>();
+    private ThreadPoolExecutor asyncExecutor = null;
+    private boolean isAsyncClosed = false;
+
+    private static final String[] VALID_EXTENSIONS = {
+            "3gp",
+            "flac",
+            "m4a",
+            "mp3",
+            "mp4",
+            "ogg",
+            "opus",
+            "vorbis",
+            "wav",
+            "webm"
+    };
+
+    public static void setSdk(String sdk) {
+        Falcon._sdk = sdk;
+    }
+
+    /**
+     * Lists all available devices that Falcon can use for inference.
+     * Each entry in the list can be used as the `device` argument when initializing Falcon.
+     *
+     * @return Array of all available devices that Falcon can be used for inference.
+     * @throws FalconException if getting available devices fails.
+     */
+    public static String[] getAvailableDevices() throws FalconException {
+        return getAvailableDevices(Utils.getPackagedLibraryPath());
+    }
+
+    /**
+     * Lists all available devices that Falcon can use for inference.
+     *
+     * @param libraryPath Absolute path to Falcon's dynamic library.
+     * @return Array of all available devices that Falcon can be used for inference.
+     * @throws FalconException if getting available devices fails.
+     */
+    public static String[] getAvailableDevices(String libraryPath) throws FalconException {
+        FalconNative.load(libraryPath);
+        return FalconNative.listHardwareDevices();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param accessKey   AccessKey obtained from Picovoice Console
+     * @param modelPath   Absolute path to the file containing Falcon model parameters.
+     * @param device      String representation of the device (e.g., CPU or GPU) to use. If set to `best`, the most
+     *                    suitable device is selected automatically. If set to `gpu`, the engine uses the first
+     *                    available GPU device. To select a specific GPU device, set this argument to
+     *                    `gpu:${GPU_INDEX}`, where `${GPU_INDEX}` is the index of the target GPU. If set to `cpu`,
+     *                    the engine will run on the CPU with the default number of threads. To specify the number
+     *                    of threads, set this argument to `cpu:${NUM_THREADS}`, where `${NUM_THREADS}` is the
+     *                    desired number of threads.
+     * @param libraryPath Absolute path to Falcon's dynamic library.
+     * @param useCache    Whether to take the engine from {@link FalconCache}.
+     * @param metricsListener Listener that receives a {@link FalconMetricsEvent} per engine call, or `null`.
+     * @throws FalconException if there is an error while initializing Falcon.
+     */
+    private Falcon(
+            String accessKey,
+            String modelPath,
+            String device,
+            String libraryPath,
+            boolean useCache,
+            FalconMetricsListener metricsListener) throws FalconException {
+        this.device = device;
+        this.metricsListener = metricsListener;
+
+        FalconNative.load(libraryPath);
+        FalconNative.setSdk(Falcon._sdk);
+
+        long startNs = System.nanoTime();
+        try {
+            if (useCache) {
+                cacheKey = new FalconCache.Key(accessKey, modelPath, device);
+                handle = FalconCache.acquire(cacheKey);
+            } else {
+                cacheKey = null;
+                handle = FalconNative.init(
+                        accessKey,
+                        modelPath,
+                        device);
+            }
+        } catch (FalconException | RuntimeException e) {
+            reportMetrics(FalconMetricsEvent.Type.INIT, startNs, Double.NaN, 0, 0, e);
+            throw e;
+        }
+        reportMetrics(FalconMetricsEvent.Type.INIT, startNs, Double.NaN, 0, 0, null);
+    }
+
+    /**
+     * Releases resources acquired by Falcon. An instance built with
+     * {@link Builder#setUseCache(boolean)} returns its engine to {@link FalconCache} instead.
+     * Asynchronous work that has not started yet completes exceptionally, and work that is running
+     * is allowed to finish first. A synchronous call running on another thread also finishes before
+     * the engine is released; calls made afterwards throw {@link FalconInvalidStateException}.
+     */
+    public void delete() {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = asyncExecutor;
+            asyncExecutor = null;
+            isAsyncClosed = true;
+        }
+        if (executor != null) {
+            for (Runnable queued : executor.shutdownNow()) {
+                ((AsyncTask) queued).future.completeExceptionally(new FalconInvalidStateException(
+                        "Falcon was deleted before queued asynchronous work started."));
+            }
+        }
+
+        synchronized (processLock) {
+            if (handle != 0) {
+                if (cacheKey != null) {
+                    FalconCache.release(cacheKey, handle);
+                } else {
+                    FalconNative.delete(handle);
+                }
+                handle = 0;
+            }
+        }
+    }
+
+    boolean isDeleted() {
+        synchronized (processLock) {
+            return handle == 0;
+        }
+    }
+
+    // Must be called while holding `processLock`, so the handle cannot be released during the native call.
+    private void checkNotDeleted(String method) throws FalconInvalidStateException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException(
+                    String.format("Attempted to call Falcon %s after delete.", method));
+        }
+    }
+
+    /**
+     * Processes given audio data and returns diarized speaker segments.
+     *
+     * @param pcm A frame of audio samples. The incoming audio needs to have a sample rate
+     *            equal to {@link #getSampleRate()} and be 16-bit linearly-encoded. Furthermore,
+     *            Falcon operates on single channel audio. If you wish to process data in a different
+     *            sample rate or channel count, use {@link #processInterleaved(short[], int, int)}.
+     *            For other formats, consider using {@link #processFile(String)}.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio frame.
+     */
+    public FalconSegment[] process(short[] pcm) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
+        }
+
+        return process(pcm, 0, pcm.length);
+    }
+
+    /**
+     * Processes a range of the given audio data and returns diarized speaker segments. Only the
+     * selected range is transferred to the engine, so a sub-range of a larger buffer can be
+     * diarized without copying it into a new array first.
+     *
+     * @param pcm    Audio samples. The same sample rate and channel requirements as
+     *               {@link #process(short[])} apply.
+     * @param offset Index of the first sample to process.
+     * @param length Number of samples to process.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(short[] pcm, int offset, int length) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInto(pcm, offset, length, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Processes given audio data and writes the diarized speaker segments into a caller-owned
+     * buffer. Reusing the same buffer across calls avoids allocating result objects.
+     *
+     * @param pcm      Audio samples. The same sample rate and channel requirements as
+     *                 {@link #process(short[])} apply.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public int processInto(short[] pcm, FalconSegmentBuffer segments) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
+        }
+
+        return processInto(pcm, 0, pcm.length, segments);
+    }
+
+    /**
+     * Processes a range of the given audio data and writes the diarized speaker segments into a
+     * caller-owned buffer.
+     *
+     * @param pcm      Audio samples. The same sample rate and channel requirements as
+     *                 {@link #process(short[])} apply.
+     * @param offset   Index of the first sample to process.
+     * @param length   Number of samples to process.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public int processInto(
+            short[] pcm,
+            int offset,
+            int length,
+            FalconSegmentBuffer segments) throws FalconException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException("Attempted to call Falcon process after delete.");
+        }
+
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
+        }
+
+        if (segments == null) {
+            throw new FalconInvalidArgumentException("Passed null segment buffer to Falcon process.");
+        }
+
+        if (offset < 0 || length < 0 || offset > pcm.length - length) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Invalid range (offset %d, length %d) for a frame of %d samples passed to Falcon process.",
+                            offset,
+                            length,
+                            pcm.length));
+        }
+
+        long startNs = System.nanoTime();
+        try {
+            synchronized (processLock) {
+                checkNotDeleted("process");
+                FalconNative.processInto(handle, pcm, offset, length, segments);
+            }
+        } catch (FalconException | RuntimeException e) {
+            reportProcessMetrics(startNs, length, 0, e);
+            throw e;
+        }
+        reportProcessMetrics(startNs, length, segments.getNumSegments(), null);
+        return segments.getNumSegments();
+    }
+
+    /**
+     * Processes audio at any sample rate and channel count and returns diarized speaker segments.
+     * Channels are averaged and the result is resampled to {@link #getSampleRate()} with a polyphase
+     * filter, in fixed-size blocks written straight into the native buffer the engine reads. Mono
+     * audio at the engine's sample rate is passed through unchanged.
+     *
+     * @param pcm         Interleaved 16-bit linearly-encoded audio samples.
+     * @param sampleRate  Sample rate of `pcm` in Hz.
+     * @param numChannels Number of interleaved channels in `pcm`.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] processInterleaved(short[] pcm, int sampleRate, int numChannels) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInterleavedInto(pcm, sampleRate, numChannels, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Processes audio at any sample rate and channel count and writes the diarized speaker segments
+     * into a caller-owned buffer. See {@link #processInterleaved(short[], int, int)}.
+     *
+     * @param pcm         Interleaved 16-bit linearly-encoded audio samples.
+     * @param sampleRate  Sample rate of `pcm` in Hz.
+     * @param numChannels Number of interleaved channels in `pcm`.
+     * @param segments    Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public int processInterleavedInto(
+            short[] pcm,
+            int sampleRate,
+            int numChannels,
+            FalconSegmentBuffer segments) throws FalconException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException("Attempted to call Falcon process after delete.");
+        }
+
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
+        }
+
+        if (segments == null) {
+            throw new FalconInvalidArgumentException("Passed null segment buffer to Falcon process.");
+        }
+
+        if (sampleRate <= 0 || numChannels <= 0) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Invalid sample rate (%d) or number of channels (%d) passed to Falcon process.",
+                            sampleRate,
+                            numChannels));
+        }
+
+        if (pcm.length % numChannels != 0) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Frame of %d samples passed to Falcon process is not a whole number of %d-channel frames.",
+                            pcm.length,
+                            numChannels));
+        }
+
+        if (sampleRate == getSampleRate() && numChannels == 1) {
+            return processInto(pcm, 0, pcm.length, segments);
+        }
+
+        // Reuse the converter, and its scratch buffers, across calls with the same input format.
+        PcmResampler converter = resampler.getAndSet(null);
+        if (converter == null || !converter.matches(sampleRate, numChannels, PcmResampler.ALL_CHANNELS)) {
+            converter = new PcmResampler(sampleRate, getSampleRate(), numChannels);
+        }
+
+        int numFrames = pcm.length / numChannels;
+        long numSamples = converter.getOutputLength(numFrames);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment converted = arena.allocate(ValueLayout.JAVA_SHORT, numSamples);
+            converter.resample(pcm, numFrames, converted);
+            resampler.set(converter);
+            return processInto(converted, segments);
+        }
+    }
+
+    /**
+     * Processes audio data held in a memory segment and returns diarized speaker segments. Native
+     * segments are handed to the engine directly without being copied; heap segments are copied
+     * to native memory first.
+     *
+     * @param pcm Memory segment containing 16-bit linearly-encoded, native-ordered samples. The same
+     *            sample rate and channel requirements as {@link #process(short[])} apply.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(MemorySegment pcm) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInto(pcm, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Processes audio data held in a memory segment and writes the diarized speaker segments into
+     * a caller-owned buffer. See {@link #process(MemorySegment)}.
+     *
+     * @param pcm      Memory segment containing 16-bit linearly-encoded, native-ordered samples.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public int processInto(MemorySegment pcm, FalconSegmentBuffer segments) throws FalconException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException("Attempted to call Falcon process after delete.");
+        }
+
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to Falcon process.");
+        }
+
+        if (segments == null) {
+            throw new FalconInvalidArgumentException("Passed null segment buffer to Falcon process.");
+        }
+
+        long numSamples = pcm.byteSize() / ValueLayout.JAVA_SHORT.byteSize();
+        if (pcm.byteSize() % ValueLayout.JAVA_SHORT.byteSize() != 0 || numSamples > Integer.MAX_VALUE) {
+            throw new FalconInvalidArgumentException(
+                    String.format("Invalid memory segment of %d bytes passed to Falcon process.", pcm.byteSize()));
+        }
+
+        long startNs = System.nanoTime();
+        try {
+            synchronized (processLock) {
+                checkNotDeleted("process");
+                FalconNative.processInto(handle, pcm, (int) numSamples, segments);
+            }
+        } catch (FalconException | RuntimeException e) {
+            reportProcessMetrics(startNs, numSamples, 0, e);
+            throw e;
+        }
+        reportProcessMetrics(startNs, numSamples, segments.getNumSegments(), null);
+        return segments.getNumSegments();
+    }
+
+    /**
+     * Processes the remaining samples of a buffer and returns diarized speaker segments. The
+     * buffer's position is not modified. Direct buffers are handed to the engine without being
+     * copied.
+     *
+     * @param pcm Buffer of audio samples in native byte order. The same sample rate and channel
+     *            requirements as {@link #process(short[])} apply.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(ShortBuffer pcm) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null buffer to Falcon process.");
+        }
+
+        if (pcm.order() != ByteOrder.nativeOrder()) {
+            throw new FalconInvalidArgumentException("Buffer passed to Falcon process must be in native byte order.");
+        }
+
+        return process(MemorySegment.ofBuffer(pcm));
+    }
+
+    /**
+     * Processes the remaining bytes of a buffer as 16-bit samples and returns diarized speaker
+     * segments. The buffer's position is not modified. Direct buffers are handed to the engine
+     * without being copied.
+     *
+     * @param pcm Buffer of 16-bit audio samples. The buffer's byte order must be native. The same
+     *            sample rate and channel requirements as {@link #process(short[])} apply.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(ByteBuffer pcm) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null buffer to Falcon process.");
+        }
+
+        if (pcm.order() != ByteOrder.nativeOrder()) {
+            throw new FalconInvalidArgumentException("Buffer passed to Falcon process must be in native byte order.");
+        }
+
+        return process(MemorySegment.ofBuffer(pcm));
+    }
+
+    /**
+     * Processes given audio data and returns diarized speaker segments.
+     *
+     * @param path Absolute path to the audio file. The supported formats are:
+     *             `3gp (AMR)`, `FLAC`, `MP3`, `MP4/m4a (AAC)`, `Ogg`, `WAV` and `WebM`.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if there is an error while processing the audio frame.
+     */
+    public FalconSegment[] processFile(String path) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processFileInto(path, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Processes given audio file and writes the diarized speaker segments into a caller-owned
+     * buffer. See {@link #processFile(String)}.
+     *
+     * @param path     Absolute path to the audio file.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio file.
+     */
+    public int processFileInto(String path, FalconSegmentBuffer segments) throws FalconException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException("Attempted to call Falcon processFile after delete.");
+        }
+
+        if (path == null || path.equals("")) {
+            throw new FalconInvalidArgumentException("Passed null path to Falcon processFile.");
+        }
+
+        if (segments == null) {
+            throw new FalconInvalidArgumentException("Passed null segment buffer to Falcon processFile.");
+        }
+
+        if (!new File(path).exists()) {
+            throw new FalconIOException(String.format("Could not find the audio file at '%s'.", path));
+        }
+
+        long fileSize = metricsListener != null ? new File(path).length() : 0;
+        double audioLengthSec = metricsListener != null ? getWavLengthSec(path) : Double.NaN;
+        long startNs = System.nanoTime();
+        try {
+            synchronized (processLock) {
+                checkNotDeleted("processFile");
+                FalconNative.processFileInto(handle, path, segments);
+            }
+            reportMetrics(
+                    FalconMetricsEvent.Type.PROCESS_FILE,
+                    startNs,
+                    audioLengthSec,
+                    fileSize,
+                    segments.getNumSegments(),
+                    null);
+            return segments.getNumSegments();
+        } catch (FalconException | RuntimeException e) {
+            reportMetrics(FalconMetricsEvent.Type.PROCESS_FILE, startNs, audioLengthSec, fileSize, 0, e);
+            if (!(e instanceof FalconInvalidArgumentException)) {
+                throw e;
+            }
+            boolean endsWithValidExt = false;
+            for (String ext : VALID_EXTENSIONS) {
+                if (path.endsWith(ext)) {
+                    endsWithValidExt = true;
+                    break;
+                }
+            }
+            if (!endsWithValidExt) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "Specified file '%s' does not have an accepted file extension. " +
+                                        "Valid extensions are: %s",
+                                path,
+                                String.join(", ", VALID_EXTENSIONS)));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the audio length of a WAV file from its header. The engine decodes other formats internally,
+     * so their length is not known here and `NaN` is returned, as it is for unreadable headers.
+     */
+    private static double getWavLengthSec(String path) {
+        if (!path.toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            return Double.NaN;
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            WavHeader header = WavHeader.parse(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+            long bytesPerSecond = (long) header.sampleRate * header.numChannels * (header.bitsPerSample / 8);
+            return bytesPerSecond > 0 ? header.dataSize / (double) bytesPerSecond : Double.NaN;
+        } catch (IOException | FalconException | RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void reportProcessMetrics(long startNs, long numSamples, int numSegments, Throwable error) {
+        if (metricsListener == null) {
+            return;
+        }
+        reportMetrics(
+                FalconMetricsEvent.Type.PROCESS,
+                startNs,
+                numSamples / (double) getSampleRate(),
+                numSamples * ValueLayout.JAVA_SHORT.byteSize(),
+                numSegments,
+                error);
+    }
+
+    private void reportMetrics(
+            FalconMetricsEvent.Type type,
+            long startNs,
+            double audioLengthSec,
+            long inputSizeBytes,
+            int numSegments,
+            Throwable error) {
+        if (metricsListener == null) {
+            return;
+        }
+        FalconMetricsEvent event = new FalconMetricsEvent(
+                type,
+                device,
+                System.nanoTime() - startNs,
+                audioLengthSec,
+                inputSizeBytes,
+                numSegments,
+                error == null ? null : error.getClass());
+        try {
+            metricsListener.onEvent(event);
+        } catch (RuntimeException ignored) {
+            // A failing listener must not change the outcome of the engine call.
+        }
+    }
+
+    /**
+     * Memory-maps a WAV file and passes its PCM data to the engine in place, without reading the
+     * file onto the Java heap.
+     *
+     * @param path Path to a 16-bit linear PCM, single channel WAV file with a sample rate equal to
+     *             {@link #getSampleRate()}. For other formats, use {@link #processFile(String)}.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if the file cannot be read, is not in the expected format or
+     *                         there is an error while processing the audio.
+     */
+    public FalconSegment[] processWav(Path path) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processWavInto(path, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Memory-maps a WAV file and writes the diarized speaker segments into a caller-owned buffer.
+     * See {@link #processWav(Path)}.
+     *
+     * @param path     Path to a 16-bit linear PCM, single channel WAV file.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if the file cannot be read, is not in the expected format or
+     *                         there is an error while processing the audio.
+     */
+    public int processWavInto(Path path, FalconSegmentBuffer segments) throws FalconException {
+        if (handle == 0) {
+            throw new FalconInvalidStateException("Attempted to call Falcon processWav after delete.");
+        }
+
+        if (path == null) {
+            throw new FalconInvalidArgumentException("Passed null path to Falcon processWav.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            WavHeader header = WavHeader.parse(file);
+            if (header.numChannels != 1 ||
+                    header.bitsPerSample != 16 ||
+                    header.sampleRate != getSampleRate()) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "WAV file '%s' must be 16-bit, single channel audio at %dHz " +
+                                        "(got %d-bit, %d channel(s) at %dHz). Consider using processFile.",
+                                path,
+                                getSampleRate(),
+                                header.bitsPerSample,
+                                header.numChannels,
+                                header.sampleRate));
+            }
+
+            MemorySegment pcm = file.asSlice(header.dataOffset, header.dataSize & ~1L);
+            if (ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+                pcm = MemorySegment.ofArray(
+                        pcm.toArray(ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN)));
+            }
+            return processInto(pcm, segments);
+        } catch (IOException e) {
+            throw new FalconIOException(e);
+        }
+    }
+
+    /**
+     * Diarizes audio data asynchronously on an internal background thread.
+     * See {@link #process(short[])}.
+     *
+     * Asynchronous calls on the same instance run one at a time in submission order. Cancelling the
+     * returned future before its work starts removes it from the queue; work that has already started
+     * runs to completion. `pcm` must not be modified until the future completes.
+     *
+     * @param pcm Audio samples.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     */
+    public CompletableFuture<FalconSegment[]> processAsync(short[] pcm) {
+        return submitAsync("processAsync", () -> process(pcm), null);
+    }
+
+    /**
+     * Diarizes audio data asynchronously on the given executor. See {@link #processAsync(short[])}.
+     *
+     * @param pcm      Audio samples.
+     * @param executor Executor that runs the work. Calls on the same instance still run one at a time.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     */
+    public CompletableFuture<FalconSegment[]> processAsync(short[] pcm, Executor executor) {
+        return submitAsync("processAsync", () -> process(pcm), executor);
+    }
+
+    /**
+     * Diarizes an audio file asynchronously on an internal background thread.
+     * See {@link #processFile(String)} and {@link #processAsync(short[])}.
+     *
+     * @param path Absolute path to the audio file.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     */
+    public CompletableFuture<FalconSegment[]> processFileAsync(String path) {
+        return submitAsync("processFileAsync", () -> processFile(path), null);
+    }
+
+    /**
+     * Diarizes an audio file asynchronously on the given executor. See {@link #processFileAsync(String)}.
+     *
+     * @param path     Absolute path to the audio file.
+     * @param executor Executor that runs the work. Calls on the same instance still run one at a time.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     */
+    public CompletableFuture<FalconSegment[]> processFileAsync(String path, Executor executor) {
+        return submitAsync("processFileAsync", () -> processFile(path), executor);
+    }
+
+    private CompletableFuture<FalconSegment[]> submitAsync(String method, AsyncCall call, Executor executor) {
+        AsyncTask task = new AsyncTask(call);
+        Executor target = executor != null ? executor : getAsyncExecutor();
+        if (target == null || isDeleted()) {
+            task.future.completeExceptionally(new FalconInvalidStateException(
+                    String.format("Attempted to call Falcon %s after delete.", method)));
+            return task.future;
+        }
+
+        task.future.whenComplete((segments, e) -> {
+            if (task.future.isCancelled() && target instanceof ThreadPoolExecutor) {
+                ((ThreadPoolExecutor) target).remove(task);
+            }
+        });
+
+        try {
+            target.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(new FalconInvalidStateException(
+                    String.format("Falcon %s work was rejected by its executor.", method)));
+        }
+        return task.future;
+    }
+
+    // Returns null once `delete` has started, so no executor is created for a deleted instance.
+    private synchronized ThreadPoolExecutor getAsyncExecutor() {
+        if (isAsyncClosed) {
+            return null;
+        }
+        if (asyncExecutor == null) {
+            asyncExecutor = new ThreadPoolExecutor(
+                    1,
+                    1,
+                    ASYNC_KEEP_ALIVE_SEC,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, "falcon-async");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            asyncExecutor.allowCoreThreadTimeOut(true);
+        }
+        return asyncExecutor;
+    }
+
+    private interface AsyncCall {
+        FalconSegment[] call() throws FalconException;
+    }
+
+    private final class AsyncTask implements Runnable {
+        private final AsyncCall call;
+        private final CompletableFuture<FalconSegment[]> future = new CompletableFuture<>();
+
+        private AsyncTask(AsyncCall call) {
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            synchronized (processLock) {
+                // Cancelled or failed while queued.
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(call.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for required audio sample rate for PCM data.
+     *
+     * @return Required audio sample rate for PCM data.
+     */
+    public int getSampleRate() {
+        return FalconNative.getSampleRate();
+    }
+
+    /**
+     * Getter for Falcon version.
+     *
+     * @return Falcon version.
+     */
+    public String getVersion() {
+        return FalconNative.getVersion();
+    }
+
+    /**
+     * Builder for creating an instance of Falcon.
+     */
+    public static class Builder {
+
+        private String accessKey = null;
+        private String modelPath = null;
+        private String device = null;
+        private String libraryPath = null;
+        private boolean useCache = false;
+        private FalconMetricsListener metricsListener = null;
+
+        /**
+         * Setter the AccessKey.
+         *
+         * @param accessKey AccessKey obtained from Picovoice Console
+         */
+        public Builder setAccessKey(String accessKey) {
+            this.accessKey = accessKey;
+            return this;
+        }
+
+        /**
+         * Setter for the absolute path to the file containing Falcon model parameters.
+         *
+         * @param modelPath Absolute path to the file containing Falcon model parameters.
+         */
+        public Builder setModelPath(String modelPath) {
+            this.modelPath = modelPath;
+            return this;
+        }
+
+        /**
+         * Setter for device.
+         *
+         * @param device String representation of the device
+         */
+        public Builder setDevice(String device) {
+            this.device = device;
+            return this;
+        }
+
+        /**
+         * Setter for the absolute path to Falcon's dynamic library. Only one library can be
+         * loaded per process.
+         *
+         * @param libraryPath Absolute path to Falcon's dynamic library.
+         */
+        public Builder setLibraryPath(String libraryPath) {
+            this.libraryPath = libraryPath;
+            return this;
+        }
+
+        /**
+         * Setter for whether to reuse engines through {@link FalconCache}. When enabled, `build()` takes an
+         * idle engine initialized with the same AccessKey, model and device if one exists, and `delete()`
+         * returns the engine to the cache. Defaults to `false`.
+         *
+         * @param useCache Whether to use the process-wide engine cache.
+         */
+        public Builder setUseCache(boolean useCache) {
+            this.useCache = useCache;
+            return this;
+        }
+
+        /**
+         * Setter for a listener that receives a {@link FalconMetricsEvent} for engine initialization and for
+         * every process and processFile call of the built instance.
+         *
+         * @param metricsListener Metrics listener, or `null` to disable metrics.
+         */
+        public Builder setMetricsListener(FalconMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        Builder copy() {
+            Builder copy = new Builder();
+            copy.accessKey = accessKey;
+            copy.modelPath = modelPath;
+            copy.device = device;
+            copy.libraryPath = libraryPath;
+            copy.useCache = useCache;
+            copy.metricsListener = metricsListener;
+            return copy;
+        }
+
+        String getLibraryPath() throws FalconException {
+            return libraryPath != null ? libraryPath : Utils.getPackagedLibraryPath();
+        }
+
+        /**
+         * Creates an instance of Falcon Speaker Diarization engine.
+         */
+        public Falcon build() throws FalconException {
+            if (accessKey == null || this.accessKey.equals("")) {
+                throw new FalconInvalidArgumentException("No AccessKey was provided to Falcon");
+            }
+
+            if (libraryPath == null) {
+                libraryPath = Utils.getPackagedLibraryPath();
+            }
+
+            if (modelPath == null) {
+                modelPath = Utils.getPackagedModelPath();
+            } else if (!new File(modelPath).exists()) {
+                throw new FalconIOException(String.format("Could not find model file at '%s'.", modelPath));
+            }
+
+            if (device == null) {
+                device = "best";
+            }
+
+            return new Falcon(
+                    accessKey,
+                    modelPath,
+                    device,
+                    libraryPath,
+                    useCache,
+                    metricsListener);
+        }
+    }
+}
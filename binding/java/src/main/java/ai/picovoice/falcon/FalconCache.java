@@ -0,0 +1,305 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of initialized Falcon engines, used by instances built with
+ * {@link Falcon.Builder#setUseCache(boolean)}.
+ *
+ * Engines are keyed by AccessKey, model path and device. Building a cached instance takes an idle
+ * engine with the same key when one exists and initializes a new one otherwise. Deleting a cached
+ * instance returns its engine to the cache instead of releasing it. Engines left idle for longer
+ * than the idle timeout are released.
+ */
+public final class FalconCache {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 60000;
+
+    private static final Map<Key, Entry> entries = new HashMap<>();
+    private static long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    private static ScheduledExecutorService evictor = null;
+
+    private static long numHits = 0;
+    private static long numMisses = 0;
+    private static long numEvictions = 0;
+
+    private FalconCache() {
+    }
+
+    /**
+     * Setter for how long an engine may stay idle in the cache before it is released. Defaults to
+     * 60 seconds. `0` releases engines as soon as they are returned.
+     *
+     * @param idleTimeoutMs Idle timeout in milliseconds.
+     */
+    public static void setIdleTimeoutMs(long idleTimeoutMs) {
+        if (idleTimeoutMs < 0) {
+            throw new IllegalArgumentException(
+                    String.format("FalconCache idle timeout must be non-negative, got %d.", idleTimeoutMs));
+        }
+
+        synchronized (FalconCache.class) {
+            FalconCache.idleTimeoutMs = idleTimeoutMs;
+            if (evictor != null) {
+                evictor.shutdownNow();
+                evictor = null;
+            }
+            if (idleTimeoutMs > 0 && !entries.isEmpty()) {
+                startEvictor();
+            }
+        }
+        evictIdle(idleTimeoutMs);
+    }
+
+    /**
+     * Getter for cache statistics.
+     *
+     * @return Snapshot of hit, miss and eviction counts and the current number of engines.
+     */
+    public static synchronized Stats getStats() {
+        int numIdle = 0;
+        int numInUse = 0;
+        for (Entry entry : entries.values()) {
+            numIdle += entry.idle.size();
+            numInUse += entry.numInUse;
+        }
+        return new Stats(numHits, numMisses, numEvictions, numIdle, numInUse);
+    }
+
+    /**
+     * Releases all idle engines. Engines in use are released when their instances are deleted.
+     */
+    public static void clear() {
+        evictIdle(0);
+    }
+
+    static long acquire(Key key) throws FalconException {
+        synchronized (FalconCache.class) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+            entry.numInUse++;
+
+            IdleEngine idle = entry.idle.pollFirst();
+            if (idle != null) {
+                numHits++;
+                return idle.handle;
+            }
+            numMisses++;
+        }
+
+        try {
+            return FalconNative.init(key.accessKey, key.modelPath, key.device);
+        } catch (FalconException e) {
+            synchronized (FalconCache.class) {
+                Entry entry = entries.get(key);
+                entry.numInUse--;
+                removeIfUnused(key, entry);
+            }
+            throw e;
+        }
+    }
+
+    static void release(Key key, long handle) {
+        synchronized (FalconCache.class) {
+            Entry entry = entries.get(key);
+            entry.numInUse--;
+            if (idleTimeoutMs > 0) {
+                entry.idle.addFirst(new IdleEngine(handle));
+                startEvictor();
+                return;
+            }
+            removeIfUnused(key, entry);
+            numEvictions++;
+        }
+        FalconNative.delete(handle);
+    }
+
+    private static void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "falcon-cache-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long timeoutMs = idleTimeoutMs;
+        final long periodMs = Math.max(1, timeoutMs / 2);
+        evictor.scheduleWithFixedDelay(() -> evictIdle(timeoutMs), periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static void evictIdle(long timeoutMs) {
+        List<Long> evicted = new ArrayList<>();
+        synchronized (FalconCache.class) {
+            long now = System.nanoTime();
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next().getValue();
+                // Most recently returned engines are at the head, so stale ones collect at the tail.
+                while (!entry.idle.isEmpty() &&
+                        TimeUnit.NANOSECONDS.toMillis(now - entry.idle.peekLast().lastUsedNs) >= timeoutMs) {
+                    evicted.add(entry.idle.pollLast().handle);
+                }
+                if (entry.numInUse == 0 && entry.idle.isEmpty()) {
+                    it.remove();
+                }
+            }
+            numEvictions += evicted.size();
+        }
+
+        for (long handle : evicted) {
+            FalconNative.delete(handle);
+        }
+    }
+
+    private static void removeIfUnused(Key key, Entry entry) {
+        if (entry.numInUse == 0 && entry.idle.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Snapshot of cache statistics.
+     */
+    public static final class Stats {
+        private final long numHits;
+        private final long numMisses;
+        private final long numEvictions;
+        private final int numIdle;
+        private final int numInUse;
+
+        private Stats(long numHits, long numMisses, long numEvictions, int numIdle, int numInUse) {
+            this.numHits = numHits;
+            this.numMisses = numMisses;
+            this.numEvictions = numEvictions;
+            this.numIdle = numIdle;
+            this.numInUse = numInUse;
+        }
+
+        /**
+         * Getter for the number of builds served by an idle engine.
+         *
+         * @return Number of cache hits.
+         */
+        public long getNumHits() {
+            return numHits;
+        }
+
+        /**
+         * Getter for the number of builds that had to initialize a new engine.
+         *
+         * @return Number of cache misses.
+         */
+        public long getNumMisses() {
+            return numMisses;
+        }
+
+        /**
+         * Getter for the number of idle engines released by the cache.
+         *
+         * @return Number of evictions.
+         */
+        public long getNumEvictions() {
+            return numEvictions;
+        }
+
+        /**
+         * Getter for the number of engines waiting in the cache.
+         *
+         * @return Number of idle engines.
+         */
+        public int getNumIdle() {
+            return numIdle;
+        }
+
+        /**
+         * Getter for the number of cached engines currently held by instances.
+         *
+         * @return Number of engines in use.
+         */
+        public int getNumInUse() {
+            return numInUse;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "FalconCache.Stats{hits=%d, misses=%d, evictions=%d, idle=%d, inUse=%d}",
+                    numHits,
+                    numMisses,
+                    numEvictions,
+                    numIdle,
+                    numInUse);
+        }
+    }
+
+    static final class Key {
+        private final String accessKey;
+        private final String modelPath;
+        private final String device;
+
+        Key(String accessKey, String modelPath, String device) {
+            this.accessKey = accessKey;
+            this.modelPath = modelPath;
+            this.device = device;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return accessKey.equals(other.accessKey) &&
+                    modelPath.equals(other.modelPath) &&
+                    device.equals(other.device);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accessKey, modelPath, device);
+        }
+    }
+
+    private static final class Entry {
+        private final ArrayDeque<IdleEngine> idle = new ArrayDeque<>();
+        private int numInUse = 0;
+    }
+
+    private static final class IdleEngine {
+        private final long handle;
+        private final long lastUsedNs;
+
+        private IdleEngine(long handle) {
+            this.handle = handle;
+            this.lastUsedNs = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diarizes each channel of a multichannel recording separately and in parallel, e.g. call
+ * recordings with the agent and the customer on separate channels.
+ *
+ * Each channel has its own Falcon instance and worker thread. A worker reads its channel straight
+ * out of the interleaved audio, or out of a memory-mapped WAV file, resampling if needed, into the
+ * native buffer its engine reads, so no per-channel copy is made on the Java heap. The per-channel
+ * results are merged into one timeline of {@link FalconChannelSegment}s ordered by start time,
+ * with speaker tags that are unique across channels.
+ *
+ * Compared with downmixing to mono, speakers on different channels are never confused with each
+ * other, and wall time is close to that of the longest single channel when there are enough cores.
+ * Calls on the same instance run one at a time.
+ */
+public class FalconChannelDiarizer {
+
+    private static final ValueLayout.OfShort WAV_SAMPLE =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Falcon[] falcons;
+    private final FalconSegmentBuffer[] channelSegments;
+    private final PcmResampler[] resamplers;
+    private final ExecutorService executor;
+    private final int sampleRate;
+
+    private final Object lock = new Object();
+    private boolean isDeleted = false;
+
+    private FalconChannelDiarizer(Falcon.Builder falconBuilder, int numChannels) throws FalconException {
+        falcons = new Falcon[numChannels];
+        try {
+            for (int i = 0; i < numChannels; i++) {
+                falcons[i] = falconBuilder.copy().build();
+            }
+        } catch (FalconException e) {
+            for (Falcon falcon : falcons) {
+                if (falcon != null) {
+                    falcon.delete();
+                }
+            }
+            throw e;
+        }
+
+        channelSegments = new FalconSegmentBuffer[numChannels];
+        for (int i = 0; i < numChannels; i++) {
+            channelSegments[i] = new FalconSegmentBuffer();
+        }
+        resamplers = new PcmResampler[numChannels];
+        sampleRate = falcons[0].getSampleRate();
+
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(numChannels, r -> {
+            Thread thread = new Thread(r, "falcon-channel-diarizer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Diarizes interleaved multichannel audio.
+     *
+     * @param pcm        Interleaved 16-bit linearly-encoded audio samples with {@link #getNumChannels()}
+     *                   channels.
+     * @param sampleRate Sample rate of `pcm` in Hz. Audio at other rates than
+     *                   {@link Falcon#getSampleRate()} is resampled.
+     * @return Segments from all channels, ordered by start time.
+     * @throws FalconException if there is an error while processing any of the channels.
+     */
+    public FalconChannelSegment[] process(short[] pcm, int sampleRate) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to FalconChannelDiarizer process.");
+        }
+
+        if (sampleRate <= 0) {
+            throw new FalconInvalidArgumentException(
+                    String.format("Invalid sample rate (%d) passed to FalconChannelDiarizer process.", sampleRate));
+        }
+
+        if (pcm.length % falcons.length != 0) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Frame of %d samples passed to FalconChannelDiarizer process is not a whole number " +
+                                    "of %d-channel frames.",
+                            pcm.length,
+                            falcons.length));
+        }
+
+        return processChannels(
+                MemorySegment.ofArray(pcm),
+                ValueLayout.JAVA_SHORT,
+                pcm.length / falcons.length,
+                sampleRate);
+    }
+
+    /**
+     * Memory-maps a multichannel WAV file and diarizes each channel in place.
+     *
+     * @param path Path to a 16-bit linear PCM WAV file with {@link #getNumChannels()} channels, at any
+     *             sample rate.
+     * @return Segments from all channels, ordered by start time.
+     * @throws FalconException if the file cannot be read, is not in the expected format or
+     *                         there is an error while processing any of the channels.
+     */
+    public FalconChannelSegment[] processWav(Path path) throws FalconException {
+        if (path == null) {
+            throw new FalconInvalidArgumentException("Passed null path to FalconChannelDiarizer processWav.");
+        }
+
+        // Shared, since the mapping is read from every channel's worker thread.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            WavHeader header = WavHeader.parse(file);
+            if (header.numChannels != falcons.length || header.bitsPerSample != 16) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "WAV file '%s' must be 16-bit, %d channel audio (got %d-bit, %d channel(s)).",
+                                path,
+                                falcons.length,
+                                header.bitsPerSample,
+                                header.numChannels));
+            }
+
+            if (header.sampleRate <= 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("WAV file '%s' has an invalid sample rate (%d).", path, header.sampleRate));
+            }
+
+            long numFrames = header.dataSize / ((long) Short.BYTES * falcons.length);
+            if (numFrames > Integer.MAX_VALUE) {
+                throw new FalconInvalidArgumentException(
+                        String.format("WAV file '%s' is too long to process.", path));
+            }
+            MemorySegment pcm = file.asSlice(header.dataOffset, numFrames * Short.BYTES * falcons.length);
+            return processChannels(pcm, WAV_SAMPLE, (int) numFrames, header.sampleRate);
+        } catch (IOException e) {
+            throw new FalconIOException(e);
+        }
+    }
+
+    /**
+     * Getter for the number of channels each recording must have.
+     *
+     * @return Number of channels.
+     */
+    public int getNumChannels() {
+        return falcons.length;
+    }
+
+    /**
+     * Waits for the current call, if any, to finish and releases all Falcon instances.
+     */
+    public void delete() {
+        synchronized (lock) {
+            if (isDeleted) {
+                return;
+            }
+            isDeleted = true;
+            executor.shutdown();
+            for (Falcon falcon : falcons) {
+                falcon.delete();
+            }
+        }
+    }
+
+    private FalconChannelSegment[] processChannels(
+            MemorySegment pcm,
+            ValueLayout.OfShort layout,
+            int numFrames,
+            int inputSampleRate) throws FalconException {
+        synchronized (lock) {
+            if (isDeleted) {
+                throw new FalconInvalidStateException("Attempted to call FalconChannelDiarizer process after delete.");
+            }
+
+            List<Future<Integer>> futures = new ArrayList<>(falcons.length);
+            for (int i = 0; i < falcons.length; i++) {
+                final int channel = i;
+                futures.add(executor.submit(() -> processChannel(channel, pcm, layout, numFrames, inputSampleRate)));
+            }
+
+            // Wait for every channel before returning, even after a failure, since they all read `pcm`.
+            Throwable error = null;
+            boolean interrupted = false;
+            for (Future<Integer> future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        if (error == null) {
+                            error = e.getCause();
+                        }
+                        break;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (error instanceof FalconException) {
+                throw (FalconException) error;
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error != null) {
+                throw new FalconException(error);
+            }
+            return merge();
+        }
+    }
+
+    private int processChannel(
+            int channel,
+            MemorySegment pcm,
+            ValueLayout.OfShort layout,
+            int numFrames,
+            int inputSampleRate) throws FalconException {
+        PcmResampler resampler = resamplers[channel];
+        if (resampler == null || !resampler.matches(inputSampleRate, falcons.length, channel)) {
+            resampler = new PcmResampler(inputSampleRate, sampleRate, falcons.length, channel);
+            resamplers[channel] = resampler;
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment channelPcm = arena.allocate(ValueLayout.JAVA_SHORT, resampler.getOutputLength(numFrames));
+            resampler.resample(pcm, layout, numFrames, channelPcm);
+            return falcons[channel].processInto(channelPcm, channelSegments[channel]);
+        }
+    }
+
+    /**
+     * Merges the per-channel results into one timeline. Speakers are numbered from 1 in order of
+     * first appearance.
+     */
+    private FalconChannelSegment[] merge() {
+        int numSegments = 0;
+        for (FalconSegmentBuffer segments : channelSegments) {
+            numSegments += segments.getNumSegments();
+        }
+
+        FalconChannelSegment[] unordered = new FalconChannelSegment[numSegments];
+        int n = 0;
+        for (int channel = 0; channel < channelSegments.length; channel++) {
+            FalconSegmentBuffer segments = channelSegments[channel];
+            for (int i = 0; i < segments.getNumSegments(); i++) {
+                unordered[n++] = new FalconChannelSegment(
+                        segments.getStartSec(i),
+                        segments.getEndSec(i),
+                        0,
+                        channel,
+                        segments.getSpeakerTag(i));
+            }
+        }
+        Arrays.sort(
+                unordered,
+                Comparator.comparingDouble(FalconChannelSegment::getStartSec)
+                        .thenComparingInt(FalconChannelSegment::getChannel));
+
+        Map<Long, Integer> speakerTags = new HashMap<>();
+        FalconChannelSegment[] merged = new FalconChannelSegment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            FalconChannelSegment segment = unordered[i];
+            long speaker = ((long) segment.getChannel() << 32) | segment.getChannelSpeakerTag();
+            Integer speakerTag = speakerTags.get(speaker);
+            if (speakerTag == null) {
+                speakerTag = speakerTags.size() + 1;
+                speakerTags.put(speaker, speakerTag);
+            }
+            merged[i] = new FalconChannelSegment(
+                    segment.getStartSec(),
+                    segment.getEndSec(),
+                    speakerTag,
+                    segment.getChannel(),
+                    segment.getChannelSpeakerTag());
+        }
+        return merged;
+    }
+
+    /**
+     * Builder for creating an instance of FalconChannelDiarizer.
+     */
+    public static class Builder {
+
+        private Falcon.Builder falconBuilder = null;
+        private int numChannels = 2;
+
+        /**
+         * Setter for the Falcon builder used to create the per-channel instances.
+         *
+         * @param falconBuilder Configured Falcon builder.
+         */
+        public Builder setFalconBuilder(Falcon.Builder falconBuilder) {
+            this.falconBuilder = falconBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the number of channels in the recordings. One Falcon instance and worker thread
+         * is created per channel. Defaults to 2.
+         *
+         * @param numChannels Number of channels.
+         */
+        public Builder setNumChannels(int numChannels) {
+            this.numChannels = numChannels;
+            return this;
+        }
+
+        /**
+         * Creates an instance of FalconChannelDiarizer.
+         */
+        public FalconChannelDiarizer build() throws FalconException {
+            if (falconBuilder == null) {
+                throw new FalconInvalidArgumentException("No Falcon.Builder was provided to FalconChannelDiarizer");
+            }
+
+            if (numChannels < 1) {
+                throw new FalconInvalidArgumentException(
+                        String.format("FalconChannelDiarizer needs at least one channel, got %d.", numChannels));
+            }
+
+            return new FalconChannelDiarizer(falconBuilder, numChannels);
+        }
+    }
+}
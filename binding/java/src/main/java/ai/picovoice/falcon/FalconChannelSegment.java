@@ -0,0 +1,65 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+/**
+ * Speaker segment from one channel of a multichannel recording, returned by
+ * {@link FalconChannelDiarizer}.
+ *
+ * {@link #getSpeakerTag()} is unique across all channels, so the segments can be used anywhere a
+ * {@link FalconSegment} is expected. {@link #getChannel()} and {@link #getChannelSpeakerTag()}
+ * identify the speaker within its channel.
+ */
+public class FalconChannelSegment extends FalconSegment {
+    private final int channel;
+    private final int channelSpeakerTag;
+
+    /**
+     * Constructor.
+     *
+     * @param startSec          Start of segment in seconds.
+     * @param endSec            End of segment in seconds.
+     * @param speakerTag        A non-negative integer that identifies unique speakers across all channels.
+     * @param channel           Index of the channel the segment was found on.
+     * @param channelSpeakerTag A non-negative integer that identifies unique speakers within the channel.
+     */
+    public FalconChannelSegment(
+            float startSec,
+            float endSec,
+            int speakerTag,
+            int channel,
+            int channelSpeakerTag
+    ) {
+        super(startSec, endSec, speakerTag);
+        this.channel = channel;
+        this.channelSpeakerTag = channelSpeakerTag;
+    }
+
+    /**
+     * Getter for the channel the segment was found on.
+     *
+     * @return Zero-based channel index.
+     */
+    public int getChannel() {
+        return channel;
+    }
+
+    /**
+     * Getter for the speaker tag within the channel, as returned by the engine for that channel.
+     *
+     * @return Channel speaker tag.
+     */
+    public int getChannelSpeakerTag() {
+        return channelSpeakerTag;
+    }
+}
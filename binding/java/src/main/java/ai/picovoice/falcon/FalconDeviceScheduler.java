@@ -0,0 +1,471 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Spreads diarization jobs across several devices, with one Falcon instance and worker thread per
+ * device.
+ *
+ * Jobs wait in a single queue and are bound to a device only when a worker becomes free. A free
+ * worker takes the next job if its estimated completion time is no later than that of any other
+ * device, counting the remaining time of the job each device is running. Estimates come from the
+ * measured processing time per second of audio on each device, updated after every job, so work
+ * shifts towards whichever devices are currently fastest. Devices without a measurement yet are
+ * tried first.
+ *
+ * The same device may be listed more than once, e.g. `cpu:2` twice, to run several instances on
+ * a CPU-only machine.
+ */
+public class FalconDeviceScheduler {
+
+    // Rough bitrate of compressed audio files, used only to estimate the length of non-WAV files.
+    private static final double COMPRESSED_BYTES_PER_SEC = 16000;
+    private static final double ESTIMATE_SMOOTHING = 0.3;
+
+    private final Lane[] lanes;
+    private final int sampleRate;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Job> queue = new ArrayDeque<>();
+    private boolean isDeleted = false;
+
+    private FalconDeviceScheduler(Falcon.Builder falconBuilder, String[] devices) throws FalconException {
+        lanes = new Lane[devices.length];
+        try {
+            for (int i = 0; i < devices.length; i++) {
+                Falcon falcon = falconBuilder.copy().setDevice(devices[i]).build();
+                lanes[i] = new Lane(i, devices[i], falcon);
+            }
+        } catch (FalconException e) {
+            for (Lane lane : lanes) {
+                if (lane != null) {
+                    lane.falcon.delete();
+                }
+            }
+            throw e;
+        }
+
+        sampleRate = lanes[0].falcon.getSampleRate();
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    /**
+     * Queues audio data for diarization. See {@link Falcon#process(short[])}.
+     *
+     * @param pcm Audio samples. Must not be modified until the job completes.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     * @throws FalconException if the scheduler has been deleted.
+     */
+    public CompletableFuture<FalconSegment[]> process(short[] pcm) throws FalconException {
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to FalconDeviceScheduler process.");
+        }
+
+        return submit("process", falcon -> falcon.process(pcm), pcm.length / (double) sampleRate);
+    }
+
+    /**
+     * Queues an audio file for diarization. See {@link Falcon#processFile(String)}.
+     *
+     * @param path Absolute path to the audio file.
+     * @return Future completed with the diarized speaker segments, or exceptionally with a
+     *         {@link FalconException}.
+     * @throws FalconException if the scheduler has been deleted.
+     */
+    public CompletableFuture<FalconSegment[]> processFile(String path) throws FalconException {
+        if (path == null || path.equals("")) {
+            throw new FalconInvalidArgumentException("Passed null path to FalconDeviceScheduler processFile.");
+        }
+
+        return submit("processFile", falcon -> falcon.processFile(path), estimateAudioLengthSec(path));
+    }
+
+    /**
+     * Getter for the devices the scheduler runs on, one entry per Falcon instance.
+     *
+     * @return Device strings.
+     */
+    public String[] getDevices() {
+        String[] devices = new String[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            devices[i] = lanes[i].device;
+        }
+        return devices;
+    }
+
+    /**
+     * Getter for per-device statistics.
+     *
+     * @return One snapshot per Falcon instance, in the order of {@link #getDevices()}.
+     */
+    public DeviceStats[] getStats() {
+        synchronized (lock) {
+            DeviceStats[] stats = new DeviceStats[lanes.length];
+            for (int i = 0; i < lanes.length; i++) {
+                Lane lane = lanes[i];
+                stats[i] = new DeviceStats(
+                        lane.device,
+                        lane.numJobs,
+                        lane.processedAudioSec,
+                        lane.busyNs,
+                        lane.secPerAudioSec);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Getter for the number of jobs waiting for a device.
+     *
+     * @return Number of queued jobs.
+     */
+    public int getQueueSize() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Stops accepting work, waits for queued jobs to finish and releases all Falcon instances.
+     */
+    public void delete() {
+        synchronized (lock) {
+            if (isDeleted) {
+                return;
+            }
+            isDeleted = true;
+            lock.notifyAll();
+        }
+
+        boolean interrupted = false;
+        for (Lane lane : lanes) {
+            while (lane.thread.isAlive()) {
+                try {
+                    lane.thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            lane.falcon.delete();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<FalconSegment[]> submit(
+            String method,
+            FalconPool.Task<FalconSegment[]> task,
+            double audioLengthSec) throws FalconException {
+        Job job = new Job(task, audioLengthSec);
+        synchronized (lock) {
+            if (isDeleted) {
+                throw new FalconInvalidStateException(
+                        String.format("Attempted to call FalconDeviceScheduler %s after delete.", method));
+            }
+            queue.addLast(job);
+            lock.notifyAll();
+        }
+        return job.future;
+    }
+
+    /**
+     * Takes the next job for `lane` if it is the device expected to finish it first. Must be called
+     * with `lock` held.
+     */
+    private Job takeJob(Lane lane) {
+        Job job = queue.peekFirst();
+        if (job == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        double ownFinishSec = lane.estimateSec(job.audioLengthSec);
+        for (Lane other : lanes) {
+            if (other == lane) {
+                continue;
+            }
+            double otherFinishSec = other.estimateRemainingSec(now) + other.estimateSec(job.audioLengthSec);
+            if (otherFinishSec < ownFinishSec) {
+                return null;
+            }
+        }
+        return queue.pollFirst();
+    }
+
+    private void runLane(Lane lane) {
+        while (true) {
+            Job job;
+            synchronized (lock) {
+                while ((job = takeJob(lane)) == null) {
+                    if (isDeleted && queue.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // Only delete() stops lanes, once the queue has drained.
+                    }
+                }
+                lane.currentJobStartNs = System.nanoTime();
+                lane.currentJobEstimateSec = lane.estimateSec(job.audioLengthSec);
+            }
+
+            if (!job.future.isDone()) {
+                try {
+                    job.future.complete(job.task.run(lane.falcon));
+                } catch (Throwable e) {
+                    job.future.completeExceptionally(e);
+                }
+            }
+
+            synchronized (lock) {
+                long elapsedNs = System.nanoTime() - lane.currentJobStartNs;
+                lane.record(elapsedNs, job.audioLengthSec);
+                lane.currentJobStartNs = 0;
+                lane.currentJobEstimateSec = 0;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private double estimateAudioLengthSec(String path) {
+        File file = new File(path);
+        if (path.toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+                 Arena arena = Arena.ofConfined()) {
+                MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+                WavHeader header = WavHeader.parse(mapped);
+                int bytesPerSecond = header.sampleRate * header.numChannels * (header.bitsPerSample / 8);
+                if (bytesPerSecond > 0) {
+                    return header.dataSize / (double) bytesPerSecond;
+                }
+            } catch (IOException | FalconException e) {
+                // Fall back to the size-based estimate; processFile reports the actual error.
+            }
+        }
+        return file.length() / COMPRESSED_BYTES_PER_SEC;
+    }
+
+    private static final class Job {
+        private final FalconPool.Task<FalconSegment[]> task;
+        private final double audioLengthSec;
+        private final CompletableFuture<FalconSegment[]> future = new CompletableFuture<>();
+
+        private Job(FalconPool.Task<FalconSegment[]> task, double audioLengthSec) {
+            this.task = task;
+            this.audioLengthSec = audioLengthSec;
+        }
+    }
+
+    private final class Lane {
+        private final String device;
+        private final Falcon falcon;
+        private final Thread thread;
+
+        // Guarded by lock.
+        private double secPerAudioSec = Double.NaN;
+        private long currentJobStartNs = 0;
+        private double currentJobEstimateSec = 0;
+        private long numJobs = 0;
+        private double processedAudioSec = 0;
+        private long busyNs = 0;
+
+        private Lane(int index, String device, Falcon falcon) {
+            this.device = device;
+            this.falcon = falcon;
+            this.thread = new Thread(() -> runLane(this), "falcon-device-scheduler-" + (index + 1));
+            this.thread.setDaemon(true);
+        }
+
+        private double estimateSec(double audioLengthSec) {
+            // Unmeasured devices look free so every device gets measured.
+            return Double.isNaN(secPerAudioSec) ? 0 : secPerAudioSec * audioLengthSec;
+        }
+
+        private double estimateRemainingSec(long now) {
+            if (currentJobStartNs == 0) {
+                return 0;
+            }
+            double elapsedSec = (now - currentJobStartNs) / 1e9;
+            return Math.max(0, currentJobEstimateSec - elapsedSec);
+        }
+
+        private void record(long elapsedNs, double audioLengthSec) {
+            numJobs++;
+            busyNs += elapsedNs;
+            processedAudioSec += audioLengthSec;
+            if (audioLengthSec <= 0) {
+                return;
+            }
+            double measured = (elapsedNs / 1e9) / audioLengthSec;
+            secPerAudioSec = Double.isNaN(secPerAudioSec) ?
+                    measured :
+                    ESTIMATE_SMOOTHING * measured + (1 - ESTIMATE_SMOOTHING) * secPerAudioSec;
+        }
+    }
+
+    /**
+     * Snapshot of the work done on one device.
+     */
+    public static final class DeviceStats {
+        private final String device;
+        private final long numJobs;
+        private final double processedAudioSec;
+        private final long busyNs;
+        private final double secPerAudioSec;
+
+        private DeviceStats(
+                String device,
+                long numJobs,
+                double processedAudioSec,
+                long busyNs,
+                double secPerAudioSec) {
+            this.device = device;
+            this.numJobs = numJobs;
+            this.processedAudioSec = processedAudioSec;
+            this.busyNs = busyNs;
+            this.secPerAudioSec = secPerAudioSec;
+        }
+
+        /**
+         * Getter for the device string.
+         *
+         * @return Device string.
+         */
+        public String getDevice() {
+            return device;
+        }
+
+        /**
+         * Getter for the number of jobs completed on the device.
+         *
+         * @return Number of jobs.
+         */
+        public long getNumJobs() {
+            return numJobs;
+        }
+
+        /**
+         * Getter for the amount of audio processed on the device. Lengths of non-WAV files are estimated.
+         *
+         * @return Processed audio in seconds.
+         */
+        public double getProcessedAudioSec() {
+            return processedAudioSec;
+        }
+
+        /**
+         * Getter for the time the device spent running jobs.
+         *
+         * @return Busy time in nanoseconds.
+         */
+        public long getBusyNs() {
+            return busyNs;
+        }
+
+        /**
+         * Getter for the current estimate of processing time per second of audio, i.e. the real-time factor
+         * used for routing.
+         *
+         * @return Estimated real-time factor, or `NaN` before the first job completes.
+         */
+        public double getRealTimeFactor() {
+            return secPerAudioSec;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "FalconDeviceScheduler.DeviceStats{device=%s, jobs=%d, audioSec=%.1f, busySec=%.3f, rtf=%.4f}",
+                    device,
+                    numJobs,
+                    processedAudioSec,
+                    busyNs / 1e9,
+                    secPerAudioSec);
+        }
+    }
+
+    /**
+     * Builder for creating an instance of FalconDeviceScheduler.
+     */
+    public static class Builder {
+
+        private Falcon.Builder falconBuilder = null;
+        private String[] devices = null;
+
+        /**
+         * Setter for the builder used to create the Falcon instances. Its device is replaced by each
+         * entry of {@link #setDevices(String...)}; the builder itself is not modified.
+         *
+         * @param falconBuilder Configured Falcon builder.
+         */
+        public Builder setFalconBuilder(Falcon.Builder falconBuilder) {
+            this.falconBuilder = falconBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the devices to run on, one Falcon instance per entry. Defaults to every device
+         * returned by {@link Falcon#getAvailableDevices(String)}.
+         *
+         * @param devices Device strings, e.g. `gpu:0`, `gpu:1` and `cpu:4`.
+         */
+        public Builder setDevices(String... devices) {
+            this.devices = devices;
+            return this;
+        }
+
+        /**
+         * Creates an instance of FalconDeviceScheduler and initializes one Falcon instance per device.
+         */
+        public FalconDeviceScheduler build() throws FalconException {
+            if (falconBuilder == null) {
+                throw new FalconInvalidArgumentException("No Falcon.Builder was provided to FalconDeviceScheduler");
+            }
+
+            String[] schedulerDevices = devices;
+            if (schedulerDevices == null) {
+                schedulerDevices = Falcon.getAvailableDevices(falconBuilder.getLibraryPath());
+            }
+            if (schedulerDevices.length == 0) {
+                throw new FalconInvalidArgumentException("No devices were provided to FalconDeviceScheduler");
+            }
+            for (String device : schedulerDevices) {
+                if (device == null || device.equals("")) {
+                    throw new FalconInvalidArgumentException(
+                            String.format(
+                                    "Invalid device in FalconDeviceScheduler devices %s.",
+                                    Arrays.toString(schedulerDevices)));
+                }
+            }
+
+            return new FalconDeviceScheduler(falconBuilder, schedulerDevices.clone());
+        }
+    }
+}
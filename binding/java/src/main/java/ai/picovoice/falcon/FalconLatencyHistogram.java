@@ -0,0 +1,219 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values such as call latencies in nanoseconds. Any number of
+ * threads may record concurrently; {@link #snapshot()} returns an immutable view for reporting.
+ *
+ * Values are counted in log-linear buckets: every power of two is split into 16 equal
+ * sub-buckets, so reported percentiles are within about 6% of the recorded values.
+ */
+public final class FalconLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records a value.
+     *
+     * @param value Non-negative value, e.g. {@link FalconMetricsEvent#getWallTimeNs()}.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    String.format("FalconLatencyHistogram values must be non-negative, got %d.", value));
+        }
+
+        counts.incrementAndGet(bucketIndex(value));
+        sum.addAndGet(value);
+
+        long current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the recorded values. Values recorded while the snapshot is taken may or
+     * may not be included.
+     *
+     * @return Immutable snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] snapshotCounts = new long[NUM_BUCKETS];
+        long count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+        return new Snapshot(snapshotCounts, count, sum.get(), min.get(), max.get());
+    }
+
+    /**
+     * Clears all recorded values. Values recorded concurrently with the reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        int bucket = index / SUB_BUCKET_COUNT;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        if (bucket == 0) {
+            return subBucket;
+        }
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (bucket - 1);
+    }
+
+    static long bucketUpperBound(int index) {
+        int bucket = index / SUB_BUCKET_COUNT;
+        if (bucket == 0) {
+            return bucketLowerBound(index);
+        }
+        return bucketLowerBound(index) + (1L << (bucket - 1)) - 1;
+    }
+
+    /**
+     * Immutable view of a {@link FalconLatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final boolean hasRange;
+
+        private Snapshot(long[] counts, long count, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            // A value being recorded concurrently may be counted before min and max are updated.
+            this.hasRange = count > 0 && min <= max;
+            this.min = hasRange ? min : 0;
+            this.max = hasRange ? max : 0;
+        }
+
+        /**
+         * Getter for the number of recorded values.
+         *
+         * @return Number of values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Getter for the smallest recorded value.
+         *
+         * @return Smallest value, or `0` if the histogram is empty.
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * Getter for the largest recorded value.
+         *
+         * @return Largest value, or `0` if the histogram is empty.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Getter for the mean of the recorded values.
+         *
+         * @return Mean, or `0` if the histogram is empty.
+         */
+        public double getMean() {
+            return count > 0 ? (double) sum / count : 0;
+        }
+
+        /**
+         * Getter for a percentile of the recorded values, using the nearest-rank method.
+         *
+         * @param percentile Percentile in `[0, 100]`, e.g. `50` for the median or `99` for p99.
+         * @return Value at the percentile, or `0` if the histogram is empty.
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+                throw new IllegalArgumentException(
+                        String.format("Percentile must be in [0, 100], got %f.", percentile));
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            // The extremes are tracked exactly.
+            if (hasRange && rank == 1) {
+                return min;
+            }
+            if (hasRange && rank == count) {
+                return max;
+            }
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long lower = bucketLowerBound(i);
+                    long mid = lower + (bucketUpperBound(i) - lower) / 2;
+                    return hasRange ? Math.max(min, Math.min(max, mid)) : mid;
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "FalconLatencyHistogram.Snapshot{count=%d, min=%d, mean=%.1f, p50=%d, p90=%d, p99=%d, max=%d}",
+                    count,
+                    min,
+                    getMean(),
+                    getPercentile(50),
+                    getPercentile(90),
+                    getPercentile(99),
+                    max);
+        }
+    }
+}
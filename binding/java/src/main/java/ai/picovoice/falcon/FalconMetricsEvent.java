@@ -0,0 +1,163 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+/**
+ * Measurements for a single engine call, delivered to a {@link FalconMetricsListener}.
+ */
+public final class FalconMetricsEvent {
+
+    /**
+     * Engine call that produced an event.
+     */
+    public enum Type {
+        /**
+         * Engine initialization in {@link Falcon.Builder#build()}.
+         */
+        INIT,
+        /**
+         * Diarization of PCM data through `process`, `processInto` or `processWav`.
+         */
+        PROCESS,
+        /**
+         * Diarization of an audio file through `processFile` or `processFileInto`.
+         */
+        PROCESS_FILE
+    }
+
+    private final Type type;
+    private final String device;
+    private final long wallTimeNs;
+    private final double audioLengthSec;
+    private final long inputSizeBytes;
+    private final int numSegments;
+    private final Class<? extends Throwable> errorClass;
+
+    FalconMetricsEvent(
+            Type type,
+            String device,
+            long wallTimeNs,
+            double audioLengthSec,
+            long inputSizeBytes,
+            int numSegments,
+            Class<? extends Throwable> errorClass) {
+        this.type = type;
+        this.device = device;
+        this.wallTimeNs = wallTimeNs;
+        this.audioLengthSec = audioLengthSec;
+        this.inputSizeBytes = inputSizeBytes;
+        this.numSegments = numSegments;
+        this.errorClass = errorClass;
+    }
+
+    /**
+     * Getter for the engine call that produced the event.
+     *
+     * @return Type of the call.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Getter for the device string the engine was initialized with.
+     *
+     * @return Device string, e.g. `best` or `cpu:4`.
+     */
+    public String getDevice() {
+        return device;
+    }
+
+    /**
+     * Getter for the wall time spent in the call.
+     *
+     * @return Wall time in nanoseconds.
+     */
+    public long getWallTimeNs() {
+        return wallTimeNs;
+    }
+
+    /**
+     * Getter for the length of the processed audio.
+     *
+     * @return Audio length in seconds, or `NaN` when it is not known: init calls, and processFile calls
+     *         on formats other than WAV, whose length is only known to the engine's decoder.
+     */
+    public double getAudioLengthSec() {
+        return audioLengthSec;
+    }
+
+    /**
+     * Getter for the real-time factor of the call: wall time divided by audio length.
+     *
+     * @return Real-time factor, or `NaN` when the audio length is not known.
+     */
+    public double getRealTimeFactor() {
+        if (Double.isNaN(audioLengthSec) || audioLengthSec <= 0) {
+            return Double.NaN;
+        }
+        return (wallTimeNs / 1e9) / audioLengthSec;
+    }
+
+    /**
+     * Getter for the size of the input: PCM bytes for process calls and the file size for
+     * processFile calls.
+     *
+     * @return Input size in bytes, or `0` for init calls.
+     */
+    public long getInputSizeBytes() {
+        return inputSizeBytes;
+    }
+
+    /**
+     * Getter for the number of segments returned by the call.
+     *
+     * @return Number of segments, or `0` for init calls and failed calls.
+     */
+    public int getNumSegments() {
+        return numSegments;
+    }
+
+    /**
+     * Getter for the class of the exception the call failed with.
+     *
+     * @return Exception class, or `null` if the call succeeded.
+     */
+    public Class<? extends Throwable> getErrorClass() {
+        return errorClass;
+    }
+
+    /**
+     * Whether the call succeeded.
+     *
+     * @return `true` if the call did not throw.
+     */
+    public boolean isSuccess() {
+        return errorClass == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "FalconMetricsEvent{type=%s, device=%s, wallTimeSec=%.3f, audioLengthSec=%.2f, rtf=%.4f, " +
+                        "inputSizeBytes=%d, numSegments=%d, error=%s}",
+                type,
+                device,
+                wallTimeNs / 1e9,
+                audioLengthSec,
+                getRealTimeFactor(),
+                inputSizeBytes,
+                numSegments,
+                errorClass == null ? "none" : errorClass.getSimpleName());
+    }
+}
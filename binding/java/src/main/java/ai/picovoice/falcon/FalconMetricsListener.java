@@ -0,0 +1,31 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+/**
+ * Receives a {@link FalconMetricsEvent} for every engine call made by a Falcon instance. Register
+ * one with {@link Falcon.Builder#setMetricsListener(FalconMetricsListener)}.
+ *
+ * Events are delivered synchronously on the thread that made the call, after the call returns, so
+ * implementations should be cheap and thread-safe. {@link FalconLatencyHistogram} can be used to
+ * aggregate wall times without locking. Exceptions thrown by the listener are ignored.
+ */
+public interface FalconMetricsListener {
+
+    /**
+     * Called after an engine call completes or fails.
+     *
+     * @param event Measurements for the call.
+     */
+    void onEvent(FalconMetricsEvent event);
+}
@@ -0,0 +1,413 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Downcalls into `libpv_falcon` through the Foreign Function & Memory API.
+ */
+class FalconNative {
+
+    private static final int PV_STATUS_SUCCESS = 0;
+    private static final int PV_STATUS_OUT_OF_MEMORY = 1;
+    private static final int PV_STATUS_IO_ERROR = 2;
+    private static final int PV_STATUS_INVALID_ARGUMENT = 3;
+    private static final int PV_STATUS_STOP_ITERATION = 4;
+    private static final int PV_STATUS_KEY_ERROR = 5;
+    private static final int PV_STATUS_INVALID_STATE = 6;
+    private static final int PV_STATUS_RUNTIME_ERROR = 7;
+    private static final int PV_STATUS_ACTIVATION_ERROR = 8;
+    private static final int PV_STATUS_ACTIVATION_LIMIT_REACHED = 9;
+    private static final int PV_STATUS_ACTIVATION_THROTTLED = 10;
+    private static final int PV_STATUS_ACTIVATION_REFUSED = 11;
+
+    static final StructLayout SEGMENT_LAYOUT = MemoryLayout.structLayout(
+            JAVA_FLOAT.withName("start_sec"),
+            JAVA_FLOAT.withName("end_sec"),
+            JAVA_INT.withName("speaker_tag"));
+
+    private static final long START_SEC_OFFSET =
+            SEGMENT_LAYOUT.byteOffset(MemoryLayout.PathElement.groupElement("start_sec"));
+    private static final long END_SEC_OFFSET =
+            SEGMENT_LAYOUT.byteOffset(MemoryLayout.PathElement.groupElement("end_sec"));
+    private static final long SPEAKER_TAG_OFFSET =
+            SEGMENT_LAYOUT.byteOffset(MemoryLayout.PathElement.groupElement("speaker_tag"));
+
+    private static volatile Library library;
+
+    static synchronized void load(String libraryPath) throws FalconException {
+        Path path = Paths.get(libraryPath).toAbsolutePath().normalize();
+        if (library != null) {
+            if (!library.path.equals(path)) {
+                throw new FalconInvalidStateException(
+                        String.format(
+                                "Falcon library is already loaded from '%s'. Cannot load '%s'.",
+                                library.path,
+                                path));
+            }
+            return;
+        }
+
+        if (!Files.exists(path)) {
+            throw new FalconIOException(
+                    String.format("Could not find Falcon's dynamic library at '%s'.", path));
+        }
+
+        try {
+            library = new Library(path);
+        } catch (IllegalArgumentException | UnsatisfiedLinkError e) {
+            throw new FalconIOException(e);
+        }
+    }
+
+    static String getVersion() {
+        try {
+            MemorySegment version = (MemorySegment) library().pvFalconVersion.invokeExact();
+            return version.reinterpret(Long.MAX_VALUE).getString(0);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static int getSampleRate() {
+        try {
+            return (int) library().pvSampleRate.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void setSdk(String sdk) {
+        try (Arena arena = Arena.ofConfined()) {
+            library().pvSetSdk.invokeExact(arena.allocateFrom(sdk));
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static long init(
+            String accessKey,
+            String modelPath,
+            String deviceString) throws FalconException {
+        Library lib = library();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment objectRef = arena.allocate(ADDRESS);
+
+            int status;
+            try {
+                status = (int) lib.pvFalconInit.invokeExact(
+                        arena.allocateFrom(accessKey),
+                        arena.allocateFrom(modelPath),
+                        arena.allocateFrom(deviceString),
+                        objectRef);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+            if (status != PV_STATUS_SUCCESS) {
+                throw statusToException(status, "Initialization failed");
+            }
+
+            return objectRef.get(ADDRESS, 0).address();
+        }
+    }
+
+    static void delete(long object) {
+        try {
+            library().pvFalconDelete.invokeExact(MemorySegment.ofAddress(object));
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void processInto(
+            long object,
+            short[] pcm,
+            int offset,
+            int numSamples,
+            FalconSegmentBuffer segments) throws FalconException {
+        MemorySegment slice = MemorySegment.ofArray(pcm).asSlice(
+                offset * JAVA_SHORT.byteSize(),
+                numSamples * JAVA_SHORT.byteSize());
+        processInto(object, slice, numSamples, segments);
+    }
+
+    static void processInto(
+            long object,
+            MemorySegment pcm,
+            int numSamples,
+            FalconSegmentBuffer segments) throws FalconException {
+        Library lib = library();
+        try (Arena arena = Arena.ofConfined()) {
+            if (!pcm.isNative()) {
+                MemorySegment pcmSegment = arena.allocate(JAVA_SHORT, numSamples);
+                MemorySegment.copy(pcm, 0, pcmSegment, 0, pcmSegment.byteSize());
+                pcm = pcmSegment;
+            }
+
+            MemorySegment numSegmentsRef = arena.allocate(JAVA_INT);
+            MemorySegment segmentsRef = arena.allocate(ADDRESS);
+
+            int status;
+            try {
+                status = (int) lib.pvFalconProcess.invokeExact(
+                        MemorySegment.ofAddress(object),
+                        pcm,
+                        numSamples,
+                        numSegmentsRef,
+                        segmentsRef);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+            if (status != PV_STATUS_SUCCESS) {
+                throw statusToException(status, "Processing failed");
+            }
+
+            readSegments(lib, numSegmentsRef.get(JAVA_INT, 0), segmentsRef.get(ADDRESS, 0), segments);
+        }
+    }
+
+    static void processFileInto(
+            long object,
+            String path,
+            FalconSegmentBuffer segments) throws FalconException {
+        Library lib = library();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment numSegmentsRef = arena.allocate(JAVA_INT);
+            MemorySegment segmentsRef = arena.allocate(ADDRESS);
+
+            int status;
+            try {
+                status = (int) lib.pvFalconProcessFile.invokeExact(
+                        MemorySegment.ofAddress(object),
+                        arena.allocateFrom(path),
+                        numSegmentsRef,
+                        segmentsRef);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+            if (status != PV_STATUS_SUCCESS) {
+                throw statusToException(status, "Processing file failed");
+            }
+
+            readSegments(lib, numSegmentsRef.get(JAVA_INT, 0), segmentsRef.get(ADDRESS, 0), segments);
+        }
+    }
+
+    static String[] listHardwareDevices() throws FalconException {
+        Library lib = library();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment hardwareDevicesRef = arena.allocate(ADDRESS);
+            MemorySegment numHardwareDevicesRef = arena.allocate(JAVA_INT);
+
+            int status;
+            try {
+                status = (int) lib.pvFalconListHardwareDevices.invokeExact(
+                        hardwareDevicesRef,
+                        numHardwareDevicesRef);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+            if (status != PV_STATUS_SUCCESS) {
+                throw statusToException(status, "Listing hardware devices failed");
+            }
+
+            int numHardwareDevices = numHardwareDevicesRef.get(JAVA_INT, 0);
+            MemorySegment hardwareDevices = hardwareDevicesRef.get(ADDRESS, 0)
+                    .reinterpret(ADDRESS.byteSize() * numHardwareDevices);
+            String[] devices = new String[numHardwareDevices];
+            for (int i = 0; i < numHardwareDevices; i++) {
+                devices[i] = hardwareDevices.getAtIndex(ADDRESS, i).reinterpret(Long.MAX_VALUE).getString(0);
+            }
+
+            try {
+                lib.pvFalconFreeHardwareDevices.invokeExact(hardwareDevicesRef.get(ADDRESS, 0), numHardwareDevices);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+            return devices;
+        }
+    }
+
+    private static void readSegments(
+            Library lib,
+            int numSegments,
+            MemorySegment segmentsAddress,
+            FalconSegmentBuffer segments) throws FalconException {
+        try {
+            copySegments(
+                    segmentsAddress.reinterpret(SEGMENT_LAYOUT.byteSize() * numSegments),
+                    numSegments,
+                    segments);
+        } finally {
+            try {
+                lib.pvFalconSegmentsDelete.invokeExact(segmentsAddress);
+            } catch (Throwable e) {
+                throw new FalconRuntimeException(e);
+            }
+        }
+    }
+
+    static void copySegments(
+            MemorySegment nativeSegments,
+            int numSegments,
+            FalconSegmentBuffer segments) {
+        segments.reset(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            long offset = i * SEGMENT_LAYOUT.byteSize();
+            segments.set(
+                    i,
+                    nativeSegments.get(JAVA_FLOAT, offset + START_SEC_OFFSET),
+                    nativeSegments.get(JAVA_FLOAT, offset + END_SEC_OFFSET),
+                    nativeSegments.get(JAVA_INT, offset + SPEAKER_TAG_OFFSET));
+        }
+    }
+
+    private static String[] getErrorStack() {
+        Library lib = library();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment messageStackRef = arena.allocate(ADDRESS);
+            MemorySegment messageStackDepthRef = arena.allocate(JAVA_INT);
+
+            int status = (int) lib.pvGetErrorStack.invokeExact(messageStackRef, messageStackDepthRef);
+            if (status != PV_STATUS_SUCCESS) {
+                return new String[0];
+            }
+
+            int messageStackDepth = messageStackDepthRef.get(JAVA_INT, 0);
+            MemorySegment messageStack = messageStackRef.get(ADDRESS, 0)
+                    .reinterpret(ADDRESS.byteSize() * messageStackDepth);
+            String[] messages = new String[messageStackDepth];
+            for (int i = 0; i < messageStackDepth; i++) {
+                messages[i] = messageStack.getAtIndex(ADDRESS, i).reinterpret(Long.MAX_VALUE).getString(0);
+            }
+
+            lib.pvFreeErrorStack.invokeExact(messageStackRef.get(ADDRESS, 0));
+            return messages;
+        } catch (Throwable e) {
+            return new String[0];
+        }
+    }
+
+    private static FalconException statusToException(int status, String message) {
+        String[] messageStack = getErrorStack();
+        switch (status) {
+            case PV_STATUS_OUT_OF_MEMORY:
+                return new FalconMemoryException(message, messageStack);
+            case PV_STATUS_IO_ERROR:
+                return new FalconIOException(message, messageStack);
+            case PV_STATUS_INVALID_ARGUMENT:
+                return new FalconInvalidArgumentException(message, messageStack);
+            case PV_STATUS_STOP_ITERATION:
+                return new FalconStopIterationException(message, messageStack);
+            case PV_STATUS_KEY_ERROR:
+                return new FalconKeyException(message, messageStack);
+            case PV_STATUS_INVALID_STATE:
+                return new FalconInvalidStateException(message, messageStack);
+            case PV_STATUS_ACTIVATION_ERROR:
+                return new FalconActivationException(message, messageStack);
+            case PV_STATUS_ACTIVATION_LIMIT_REACHED:
+                return new FalconActivationLimitException(message, messageStack);
+            case PV_STATUS_ACTIVATION_THROTTLED:
+                return new FalconActivationThrottledException(message, messageStack);
+            case PV_STATUS_ACTIVATION_REFUSED:
+                return new FalconActivationRefusedException(message, messageStack);
+            case PV_STATUS_RUNTIME_ERROR:
+            default:
+                return new FalconRuntimeException(message, messageStack);
+        }
+    }
+
+    private static Library library() {
+        Library lib = library;
+        if (lib == null) {
+            throw new IllegalStateException("Falcon library has not been loaded.");
+        }
+        return lib;
+    }
+
+    private static final class Library {
+
+        private final Path path;
+
+        private final MethodHandle pvSetSdk;
+        private final MethodHandle pvSampleRate;
+        private final MethodHandle pvGetErrorStack;
+        private final MethodHandle pvFreeErrorStack;
+        private final MethodHandle pvFalconVersion;
+        private final MethodHandle pvFalconInit;
+        private final MethodHandle pvFalconDelete;
+        private final MethodHandle pvFalconProcess;
+        private final MethodHandle pvFalconProcessFile;
+        private final MethodHandle pvFalconSegmentsDelete;
+        private final MethodHandle pvFalconListHardwareDevices;
+        private final MethodHandle pvFalconFreeHardwareDevices;
+
+        private Library(Path path) {
+            this.path = path;
+
+            Linker linker = Linker.nativeLinker();
+            SymbolLookup lookup = SymbolLookup.libraryLookup(path, Arena.global());
+
+            pvSetSdk = downcall(linker, lookup, "pv_set_sdk",
+                    FunctionDescriptor.ofVoid(ADDRESS));
+            pvSampleRate = downcall(linker, lookup, "pv_sample_rate",
+                    FunctionDescriptor.of(JAVA_INT));
+            pvGetErrorStack = downcall(linker, lookup, "pv_get_error_stack",
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS));
+            pvFreeErrorStack = downcall(linker, lookup, "pv_free_error_stack",
+                    FunctionDescriptor.ofVoid(ADDRESS));
+            pvFalconVersion = downcall(linker, lookup, "pv_falcon_version",
+                    FunctionDescriptor.of(ADDRESS));
+            pvFalconInit = downcall(linker, lookup, "pv_falcon_init",
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, ADDRESS, ADDRESS));
+            pvFalconDelete = downcall(linker, lookup, "pv_falcon_delete",
+                    FunctionDescriptor.ofVoid(ADDRESS));
+            pvFalconProcess = downcall(linker, lookup, "pv_falcon_process",
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, JAVA_INT, ADDRESS, ADDRESS));
+            pvFalconProcessFile = downcall(linker, lookup, "pv_falcon_process_file",
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, ADDRESS, ADDRESS));
+            pvFalconSegmentsDelete = downcall(linker, lookup, "pv_falcon_segments_delete",
+                    FunctionDescriptor.ofVoid(ADDRESS));
+            pvFalconListHardwareDevices = downcall(linker, lookup, "pv_falcon_list_hardware_devices",
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS));
+            pvFalconFreeHardwareDevices = downcall(linker, lookup, "pv_falcon_free_hardware_devices",
+                    FunctionDescriptor.ofVoid(ADDRESS, JAVA_INT));
+        }
+
+        private static MethodHandle downcall(
+                Linker linker,
+                SymbolLookup lookup,
+                String name,
+                FunctionDescriptor descriptor) {
+            MemorySegment symbol = lookup.find(name).orElseThrow(
+                    () -> new UnsatisfiedLinkError(String.format("Could not find symbol '%s'.", name)));
+            return linker.downcallHandle(symbol, descriptor);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of Falcon instances for diarizing independent recordings concurrently.
+ * Each instance is used by at most one thread at a time, either through {@link #submit(Task)}
+ * or by explicitly calling {@link #borrow(long)} and {@link #giveBack(Falcon)}.
+ *
+ * Instances are confined to one thread while borrowed, not pinned to a thread for their lifetime.
+ * Free instances wait in a single queue and the most recently returned one is handed out first,
+ * so a worker that runs tasks back to back usually gets the same instance again. Pinning would keep
+ * idle workers' instances from callers of {@link #borrow(long)} and from idle eviction, and the
+ * engine handle has no thread affinity, only a requirement that calls on it are not concurrent.
+ */
+public class FalconPool {
+
+    private static final long WAIT_RECHECK_MS = 100;
+
+    private final Falcon.Builder falconBuilder;
+    private final int poolSize;
+    private final long idleTimeoutMs;
+
+    private final LinkedBlockingDeque<PooledFalcon> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger numCreated = new AtomicInteger();
+    private final Set<Falcon> borrowed = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService evictor;
+
+    // Set when delete() starts: no new work is accepted, but queued tasks still borrow instances.
+    private volatile boolean isDeleted = false;
+    // Set once queued tasks have drained: instances are released instead of pooled.
+    private volatile boolean isTerminated = false;
+
+    /**
+     * Unit of work run against a borrowed Falcon instance.
+     *
+     * @param <T> Result type of the task.
+     */
+    public interface Task<T> {
+        T run(Falcon falcon) throws FalconException;
+    }
+
+    private FalconPool(
+            Falcon.Builder falconBuilder,
+            int poolSize,
+            int queueCapacity,
+            long idleTimeoutMs) throws FalconException {
+        this.falconBuilder = falconBuilder;
+        this.poolSize = poolSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                idle.offerLast(new PooledFalcon(createFalcon()));
+                numCreated.incrementAndGet();
+            }
+        } catch (FalconException e) {
+            deleteIdle();
+            throw e;
+        }
+
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreadFactory("falcon-pool-worker"));
+
+        if (idleTimeoutMs > 0) {
+            long periodMs = Math.max(1, idleTimeoutMs / 2);
+            evictor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("falcon-pool-evictor"));
+            evictor.scheduleWithFixedDelay(this::evictIdle, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Queues a task to run on the next free Falcon instance.
+     *
+     * @param task Task to run.
+     * @return Future holding the result of the task.
+     * @throws FalconException if the pool is deleted or its submission queue is full.
+     */
+    public <T> Future<T> submit(Task<T> task) throws FalconException {
+        if (task == null) {
+            throw new FalconInvalidArgumentException("Passed null task to FalconPool submit.");
+        }
+        if (isDeleted) {
+            throw new FalconInvalidStateException("Attempted to call FalconPool submit after delete.");
+        }
+
+        Callable<T> callable = () -> {
+            Falcon falcon = acquire(0);
+            try {
+                return task.run(falcon);
+            } finally {
+                giveBack(falcon);
+            }
+        };
+
+        try {
+            return executor.submit(callable);
+        } catch (RejectedExecutionException e) {
+            if (isDeleted) {
+                throw new FalconInvalidStateException("Attempted to call FalconPool submit after delete.");
+            }
+            throw new FalconInvalidStateException(
+                    String.format(
+                            "FalconPool submission queue is full (%d pending tasks).",
+                            executor.getQueue().size()));
+        }
+    }
+
+    /**
+     * Queues audio data for diarization. See {@link Falcon#process(short[])}.
+     *
+     * @param pcm Audio samples.
+     * @return Future holding the diarized speaker segments.
+     * @throws FalconException if the pool is deleted or its submission queue is full.
+     */
+    public Future<FalconSegment[]> process(short[] pcm) throws FalconException {
+        return submit(falcon -> falcon.process(pcm));
+    }
+
+    /**
+     * Queues an audio file for diarization. See {@link Falcon#processFile(String)}.
+     *
+     * @param path Absolute path to the audio file.
+     * @return Future holding the diarized speaker segments.
+     * @throws FalconException if the pool is deleted or its submission queue is full.
+     */
+    public Future<FalconSegment[]> processFile(String path) throws FalconException {
+        return submit(falcon -> falcon.processFile(path));
+    }
+
+    /**
+     * Takes a Falcon instance out of the pool, creating one if a previous instance was evicted.
+     * The caller has exclusive use of the instance until it is returned with {@link #giveBack(Falcon)}.
+     *
+     * @param timeoutMs Maximum time to wait for an instance to become free. `0` waits indefinitely.
+     * @return Falcon instance.
+     * @throws FalconException if the pool is deleted, no instance became free in time or creating an instance fails.
+     */
+    public Falcon borrow(long timeoutMs) throws FalconException {
+        if (isDeleted) {
+            throw new FalconInvalidStateException("Attempted to call FalconPool borrow after delete.");
+        }
+        return acquire(timeoutMs);
+    }
+
+    private Falcon acquire(long timeoutMs) throws FalconException {
+        if (isTerminated) {
+            throw new FalconInvalidStateException("Attempted to call FalconPool borrow after delete.");
+        }
+
+        long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            PooledFalcon pooled = idle.pollFirst();
+            if (pooled != null) {
+                return lend(pooled.falcon);
+            }
+
+            if (numCreated.getAndIncrement() < poolSize) {
+                try {
+                    return lend(createFalcon());
+                } catch (FalconException e) {
+                    numCreated.decrementAndGet();
+                    throw e;
+                }
+            }
+            numCreated.decrementAndGet();
+
+            // Waits in short steps: an instance deleted by its borrower frees capacity without
+            // putting anything in the queue, so nothing would wake a waiter.
+            long waitMs = WAIT_RECHECK_MS;
+            if (timeoutMs > 0) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNs - System.nanoTime());
+                if (remainingMs <= 0) {
+                    throw new FalconInvalidStateException(
+                            String.format("No Falcon instance became free within %dms.", timeoutMs));
+                }
+                waitMs = Math.min(waitMs, remainingMs);
+            }
+            try {
+                pooled = idle.pollFirst(waitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FalconInvalidStateException("Interrupted while waiting for a Falcon instance.");
+            }
+            if (pooled != null) {
+                return lend(pooled.falcon);
+            }
+        }
+    }
+
+    /**
+     * Returns a Falcon instance obtained from {@link #borrow(long)} to the pool. An instance the
+     * caller has deleted is dropped, and a replacement is created on demand. While
+     * {@link #delete()} is waiting for queued tasks, returned instances are still handed to them.
+     *
+     * @param falcon Falcon instance to return.
+     * @throws IllegalArgumentException if the instance is not currently borrowed from this pool.
+     */
+    public void giveBack(Falcon falcon) {
+        if (falcon == null) {
+            return;
+        }
+        if (!borrowed.remove(falcon)) {
+            throw new IllegalArgumentException(
+                    "Falcon instance passed to FalconPool giveBack was not borrowed from this pool.");
+        }
+        if (falcon.isDeleted()) {
+            numCreated.decrementAndGet();
+            return;
+        }
+        if (isTerminated) {
+            falcon.delete();
+            numCreated.decrementAndGet();
+            return;
+        }
+
+        PooledFalcon pooled = new PooledFalcon(falcon);
+        idle.offerFirst(pooled);
+        // delete() may have emptied the queue between the check above and the offer.
+        if (isTerminated && idle.remove(pooled)) {
+            falcon.delete();
+            numCreated.decrementAndGet();
+        }
+    }
+
+    /**
+     * Getter for the maximum number of Falcon instances held by the pool.
+     *
+     * @return Pool size.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Getter for the number of Falcon instances currently alive.
+     *
+     * @return Number of live Falcon instances.
+     */
+    public int getNumInstances() {
+        return numCreated.get();
+    }
+
+    /**
+     * Stops accepting work, waits for queued tasks to finish and releases all Falcon instances.
+     * Queued tasks that need an instance held by a caller of {@link #borrow(long)} wait until it is
+     * given back. Instances given back after this returns are deleted.
+     */
+    public synchronized void delete() {
+        if (isDeleted) {
+            return;
+        }
+        isDeleted = true;
+
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        isTerminated = true;
+        deleteIdle();
+    }
+
+    private Falcon lend(Falcon falcon) {
+        borrowed.add(falcon);
+        return falcon;
+    }
+
+    private Falcon createFalcon() throws FalconException {
+        synchronized (falconBuilder) {
+            return falconBuilder.build();
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        List<PooledFalcon> evicted = new ArrayList<>();
+        Iterator<PooledFalcon> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledFalcon pooled = it.next();
+            if (TimeUnit.NANOSECONDS.toMillis(now - pooled.lastUsedNs) < idleTimeoutMs) {
+                break;
+            }
+            if (idle.removeLastOccurrence(pooled)) {
+                evicted.add(pooled);
+            }
+        }
+        for (PooledFalcon pooled : evicted) {
+            pooled.falcon.delete();
+            numCreated.decrementAndGet();
+        }
+    }
+
+    private void deleteIdle() {
+        PooledFalcon pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.falcon.delete();
+            numCreated.decrementAndGet();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class PooledFalcon {
+        private final Falcon falcon;
+        private final long lastUsedNs;
+
+        private PooledFalcon(Falcon falcon) {
+            this.falcon = falcon;
+            this.lastUsedNs = System.nanoTime();
+        }
+    }
+
+    /**
+     * Builder for creating an instance of FalconPool.
+     */
+    public static class Builder {
+
+        private Falcon.Builder falconBuilder = null;
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 0;
+        private long idleTimeoutMs = 0;
+
+        /**
+         * Setter for the builder used to create each pooled Falcon instance.
+         *
+         * @param falconBuilder Configured Falcon builder.
+         */
+        public Builder setFalconBuilder(Falcon.Builder falconBuilder) {
+            this.falconBuilder = falconBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the number of Falcon instances, and worker threads, in the pool.
+         * Defaults to the number of available processors.
+         *
+         * @param poolSize Number of Falcon instances.
+         */
+        public Builder setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Setter for the maximum number of tasks waiting for a free instance. `0`, the default,
+         * uses four times the pool size.
+         *
+         * @param queueCapacity Capacity of the submission queue.
+         */
+        public Builder setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Setter for how long an instance may stay unused before it is released. Evicted
+         * instances are recreated on demand. `0` disables eviction.
+         *
+         * @param idleTimeoutMs Idle timeout in milliseconds.
+         */
+        public Builder setIdleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Creates an instance of FalconPool and initializes all of its Falcon instances.
+         */
+        public FalconPool build() throws FalconException {
+            if (falconBuilder == null) {
+                throw new FalconInvalidArgumentException("No Falcon.Builder was provided to FalconPool");
+            }
+            if (poolSize <= 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("FalconPool size must be positive, got %d.", poolSize));
+            }
+            if (queueCapacity < 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("FalconPool queue capacity must be non-negative, got %d.", queueCapacity));
+            }
+            if (idleTimeoutMs < 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("FalconPool idle timeout must be non-negative, got %d.", idleTimeoutMs));
+            }
+
+            return new FalconPool(
+                    falconBuilder,
+                    poolSize,
+                    (queueCapacity == 0) ? 4 * poolSize : queueCapacity,
+                    idleTimeoutMs);
+        }
+    }
+}
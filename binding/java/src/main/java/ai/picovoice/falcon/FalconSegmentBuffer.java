@@ -0,0 +1,188 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.util.Arrays;
+
+/**
+ * Reusable container for diarization results, stored as parallel arrays of start times, end times
+ * and speaker tags. Passing the same buffer to {@link Falcon#processInto(short[], FalconSegmentBuffer)}
+ * on every call avoids allocating a {@link FalconSegment} per result. The buffer grows as needed and
+ * is overwritten by each call.
+ */
+public class FalconSegmentBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private float[] startSec;
+    private float[] endSec;
+    private int[] speakerTag;
+    private int numSegments;
+
+    /**
+     * Constructor.
+     */
+    public FalconSegmentBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Initial number of segments the buffer can hold without growing.
+     */
+    public FalconSegmentBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    String.format("FalconSegmentBuffer capacity must be non-negative, got %d.", capacity));
+        }
+        startSec = new float[capacity];
+        endSec = new float[capacity];
+        speakerTag = new int[capacity];
+        numSegments = 0;
+    }
+
+    /**
+     * Getter for the number of segments currently held by the buffer.
+     *
+     * @return Number of segments.
+     */
+    public int getNumSegments() {
+        return numSegments;
+    }
+
+    /**
+     * Getter for the number of segments the buffer can hold without growing.
+     *
+     * @return Capacity of the buffer.
+     */
+    public int getCapacity() {
+        return startSec.length;
+    }
+
+    /**
+     * Getter for the start of a segment in seconds.
+     *
+     * @param index Index of the segment.
+     * @return Start of segment in seconds.
+     */
+    public float getStartSec(int index) {
+        checkIndex(index);
+        return startSec[index];
+    }
+
+    /**
+     * Getter for the end of a segment in seconds.
+     *
+     * @param index Index of the segment.
+     * @return End of segment in seconds.
+     */
+    public float getEndSec(int index) {
+        checkIndex(index);
+        return endSec[index];
+    }
+
+    /**
+     * Getter for the speaker tag of a segment.
+     *
+     * @param index Index of the segment.
+     * @return Speaker tag.
+     */
+    public int getSpeakerTag(int index) {
+        checkIndex(index);
+        return speakerTag[index];
+    }
+
+    /**
+     * Getter for the backing array of segment start times. Only the first {@link #getNumSegments()}
+     * entries are valid, and the array may be replaced when the buffer grows.
+     *
+     * @return Start times in seconds.
+     */
+    public float[] getStartSecArray() {
+        return startSec;
+    }
+
+    /**
+     * Getter for the backing array of segment end times. Only the first {@link #getNumSegments()}
+     * entries are valid, and the array may be replaced when the buffer grows.
+     *
+     * @return End times in seconds.
+     */
+    public float[] getEndSecArray() {
+        return endSec;
+    }
+
+    /**
+     * Getter for the backing array of speaker tags. Only the first {@link #getNumSegments()} entries
+     * are valid, and the array may be replaced when the buffer grows.
+     *
+     * @return Speaker tags.
+     */
+    public int[] getSpeakerTagArray() {
+        return speakerTag;
+    }
+
+    /**
+     * Grows the buffer so it can hold at least `capacity` segments. Existing segments are kept.
+     *
+     * @param capacity Minimum number of segments.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= startSec.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, startSec.length + (startSec.length >> 1));
+        startSec = Arrays.copyOf(startSec, newCapacity);
+        endSec = Arrays.copyOf(endSec, newCapacity);
+        speakerTag = Arrays.copyOf(speakerTag, newCapacity);
+    }
+
+    /**
+     * Removes all segments from the buffer. The capacity is kept.
+     */
+    public void clear() {
+        numSegments = 0;
+    }
+
+    /**
+     * Copies the segments into a new array of {@link FalconSegment} objects.
+     *
+     * @return FalconSegment[] with the segments currently held by the buffer.
+     */
+    public FalconSegment[] toArray() {
+        FalconSegment[] segments = new FalconSegment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new FalconSegment(startSec[i], endSec[i], speakerTag[i]);
+        }
+        return segments;
+    }
+
+    void reset(int numSegments) {
+        ensureCapacity(numSegments);
+        this.numSegments = numSegments;
+    }
+
+    void set(int index, float startSec, float endSec, int speakerTag) {
+        this.startSec[index] = startSec;
+        this.endSec[index] = endSec;
+        this.speakerTag[index] = speakerTag;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= numSegments) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Segment index %d out of bounds for %d segments.", index, numSegments));
+        }
+    }
+}
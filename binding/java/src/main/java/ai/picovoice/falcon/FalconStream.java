@@ -0,0 +1,539 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental speaker diarization over a live audio stream.
+ *
+ * Incoming frames are appended to a fixed-size ring buffer. Once a window of audio is available it
+ * is diarized on a background thread, and a new window starts every hop. Speaker tags of each
+ * window are matched against the previous window using the audio both windows cover, so tags stay
+ * consistent for the whole stream. Segments are reported through {@link SegmentListener} once no
+ * later window can change them, which is window - hop after the audio plus up to one more hop
+ * (20 to 30 seconds with the default window and hop). Memory use does not depend on the length of
+ * the stream: when diarization falls behind, {@link #process(short[])} blocks until the oldest
+ * buffered audio has been diarized.
+ */
+public class FalconStream {
+
+    private static final double MERGE_GAP_SEC = 0.01;
+
+    private final Falcon falcon;
+    private final SegmentListener segmentListener;
+    private final ErrorListener errorListener;
+
+    private final int sampleRate;
+    private final int windowSamples;
+    private final int hopSamples;
+
+    private final Object lock = new Object();
+    private final short[] ring;
+    private long numWritten = 0;
+    private long nextWindowEnd;
+    private boolean isFlushing = false;
+    private boolean isFinished = false;
+    private boolean isDeleted = false;
+    private FalconException error = null;
+
+    private final Arena arena;
+    private final MemorySegment scratch;
+    private final Thread worker;
+
+    private final FalconSegmentBuffer windowSegments = new FalconSegmentBuffer();
+    private Segment[] prevSegments = new Segment[0];
+    private double prevWindowEndSec = 0;
+    private double finalizedSec = 0;
+    private int nextSpeakerTag = 1;
+    private Segment pending = null;
+
+    /**
+     * Listener for finalized segments. Called on the stream's background thread.
+     */
+    public interface SegmentListener {
+        void onSegments(FalconSegment[] segments);
+    }
+
+    /**
+     * Listener for errors raised while diarizing in the background. Called on the stream's
+     * background thread. The stream stops after an error.
+     */
+    public interface ErrorListener {
+        void onError(FalconException error);
+    }
+
+    private FalconStream(
+            Falcon falcon,
+            float windowSec,
+            float hopSec,
+            SegmentListener segmentListener,
+            ErrorListener errorListener) {
+        this.falcon = falcon;
+        this.segmentListener = segmentListener;
+        this.errorListener = errorListener;
+
+        sampleRate = falcon.getSampleRate();
+        windowSamples = Math.round(windowSec * sampleRate);
+        hopSamples = Math.round(hopSec * sampleRate);
+        nextWindowEnd = windowSamples;
+
+        ring = new short[windowSamples + 2 * hopSamples];
+        arena = Arena.ofShared();
+        scratch = arena.allocate(ValueLayout.JAVA_SHORT, windowSamples);
+
+        worker = new Thread(this::run, "falcon-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Appends a frame of audio to the stream.
+     *
+     * @param frame Audio samples. The same sample rate and channel requirements as
+     *              {@link Falcon#process(short[])} apply. Frames may have any length.
+     *              Blocks while the buffer holds no room for the frame, that is while the background
+     *              diarization is behind by more than two hops.
+     * @throws FalconException if the stream is finished or deleted, the background diarization
+     *                         failed, or the calling thread is interrupted while waiting for room.
+     */
+    public void process(short[] frame) throws FalconException {
+        if (frame == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to FalconStream process.");
+        }
+
+        synchronized (lock) {
+            checkState("process");
+
+            int offset = 0;
+            while (offset < frame.length) {
+                long retainFrom = nextWindowEnd - windowSamples;
+                int room = (int) (ring.length - (numWritten - retainFrom));
+                if (room == 0) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new FalconInvalidStateException("Interrupted while writing to FalconStream.");
+                    }
+                    checkState("process");
+                    continue;
+                }
+
+                int ringIndex = (int) (numWritten % ring.length);
+                int length = Math.min(Math.min(frame.length - offset, ring.length - ringIndex), room);
+                System.arraycopy(frame, offset, ring, ringIndex, length);
+                offset += length;
+                numWritten += length;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Diarizes any audio not yet covered by a full window, reports all remaining segments and
+     * ends the stream. Blocks until the final segments have been delivered.
+     *
+     * @throws FalconException if the stream is finished or deleted, or diarization fails.
+     */
+    public void flush() throws FalconException {
+        synchronized (lock) {
+            checkState("flush");
+            isFlushing = true;
+            lock.notifyAll();
+
+            while (!isFinished && error == null && !isDeleted) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FalconInvalidStateException("Interrupted while flushing FalconStream.");
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            if (!isFinished) {
+                throw new FalconInvalidStateException("FalconStream was deleted while flushing.");
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and releases resources acquired by the stream.
+     */
+    public void delete() {
+        synchronized (lock) {
+            if (isDeleted) {
+                return;
+            }
+            isDeleted = true;
+            lock.notifyAll();
+        }
+
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        arena.close();
+        falcon.delete();
+    }
+
+    private void checkState(String method) throws FalconException {
+        if (isDeleted) {
+            throw new FalconInvalidStateException(
+                    String.format("Attempted to call FalconStream %s after delete.", method));
+        }
+        if (error != null) {
+            throw error;
+        }
+        if (isFlushing || isFinished) {
+            throw new FalconInvalidStateException(
+                    String.format("Attempted to call FalconStream %s after flush.", method));
+        }
+    }
+
+    private void run() {
+        FalconException failure = null;
+        try {
+            diarize();
+        } catch (FalconException e) {
+            failure = e;
+        } catch (Throwable e) {
+            failure = new FalconException(String.format("FalconStream background thread failed: %s", e));
+            failure.initCause(e);
+        } finally {
+            synchronized (lock) {
+                if (isDeleted) {
+                    failure = null;
+                } else if (failure == null && !isFinished) {
+                    failure = new FalconInvalidStateException("FalconStream background thread stopped unexpectedly.");
+                }
+                error = failure;
+                lock.notifyAll();
+            }
+        }
+
+        if (failure != null && errorListener != null) {
+            errorListener.onError(failure);
+        }
+    }
+
+    private void diarize() throws FalconException, InterruptedException {
+        while (true) {
+            long windowStart;
+            long windowEnd;
+            boolean isFinal;
+
+            synchronized (lock) {
+                while (!isDeleted && numWritten < nextWindowEnd && !isFlushing) {
+                    lock.wait();
+                }
+                if (isDeleted) {
+                    return;
+                }
+
+                isFinal = numWritten < nextWindowEnd;
+                windowEnd = isFinal ? numWritten : nextWindowEnd;
+                windowStart = Math.max(0, windowEnd - windowSamples);
+                copyFromRing(windowStart, windowEnd);
+                if (!isFinal) {
+                    nextWindowEnd += hopSamples;
+                    lock.notifyAll();
+                }
+            }
+
+            double windowStartSec = windowStart / (double) sampleRate;
+            double windowEndSec = windowEnd / (double) sampleRate;
+            if (windowEndSec > prevWindowEndSec) {
+                int numSamples = (int) (windowEnd - windowStart);
+                falcon.processInto(
+                        scratch.asSlice(0, numSamples * ValueLayout.JAVA_SHORT.byteSize()),
+                        windowSegments);
+                reconcile(windowStartSec, windowEndSec);
+            }
+
+            double boundarySec = isFinal ?
+                    Double.POSITIVE_INFINITY :
+                    (windowStart + hopSamples) / (double) sampleRate;
+            emit(boundarySec, isFinal);
+
+            if (isFinal) {
+                synchronized (lock) {
+                    isFinished = true;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void copyFromRing(long start, long end) {
+        long position = start;
+        long scratchOffset = 0;
+        while (position < end) {
+            int ringIndex = (int) (position % ring.length);
+            int length = (int) Math.min(end - position, ring.length - ringIndex);
+            MemorySegment.copy(ring, ringIndex, scratch, ValueLayout.JAVA_SHORT, scratchOffset, length);
+            scratchOffset += length * ValueLayout.JAVA_SHORT.byteSize();
+            position += length;
+        }
+    }
+
+    /**
+     * Maps the speaker tags of the window just diarized onto the stream's tags by how long each
+     * pair of speakers overlaps in the audio shared with the previous window.
+     */
+    private void reconcile(double windowStartSec, double windowEndSec) {
+        int numSegments = windowSegments.getNumSegments();
+        Segment[] segments = new Segment[numSegments];
+        int[] localTags = new int[numSegments];
+        int numLocalTags = 0;
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(
+                    windowStartSec + windowSegments.getStartSec(i),
+                    windowStartSec + windowSegments.getEndSec(i),
+                    windowSegments.getSpeakerTag(i));
+            if (indexOf(localTags, numLocalTags, segments[i].speakerTag) < 0) {
+                localTags[numLocalTags++] = segments[i].speakerTag;
+            }
+        }
+
+        int[] prevTags = new int[prevSegments.length];
+        int numPrevTags = 0;
+        for (Segment segment : prevSegments) {
+            if (indexOf(prevTags, numPrevTags, segment.speakerTag) < 0) {
+                prevTags[numPrevTags++] = segment.speakerTag;
+            }
+        }
+
+        double overlapStartSec = windowStartSec;
+        double overlapEndSec = Math.min(prevWindowEndSec, windowEndSec);
+        double[][] overlap = new double[numLocalTags][numPrevTags];
+        for (Segment current : segments) {
+            int l = indexOf(localTags, numLocalTags, current.speakerTag);
+            for (Segment prev : prevSegments) {
+                double start = Math.max(overlapStartSec, Math.max(current.startSec, prev.startSec));
+                double end = Math.min(overlapEndSec, Math.min(current.endSec, prev.endSec));
+                if (end > start) {
+                    overlap[l][indexOf(prevTags, numPrevTags, prev.speakerTag)] += end - start;
+                }
+            }
+        }
+
+        int[] mapping = new int[numLocalTags];
+        boolean[] isPrevTaken = new boolean[numPrevTags];
+        for (int assigned = 0; assigned < Math.min(numLocalTags, numPrevTags); assigned++) {
+            int bestLocal = -1;
+            int bestPrev = -1;
+            double best = 0;
+            for (int l = 0; l < numLocalTags; l++) {
+                if (mapping[l] != 0) {
+                    continue;
+                }
+                for (int p = 0; p < numPrevTags; p++) {
+                    if (!isPrevTaken[p] && overlap[l][p] > best) {
+                        best = overlap[l][p];
+                        bestLocal = l;
+                        bestPrev = p;
+                    }
+                }
+            }
+            if (bestLocal < 0) {
+                break;
+            }
+            mapping[bestLocal] = prevTags[bestPrev];
+            isPrevTaken[bestPrev] = true;
+        }
+        for (int l = 0; l < numLocalTags; l++) {
+            if (mapping[l] == 0) {
+                mapping[l] = nextSpeakerTag++;
+            }
+        }
+
+        for (int i = 0; i < numSegments; i++) {
+            Segment segment = segments[i];
+            segments[i] = new Segment(
+                    segment.startSec,
+                    segment.endSec,
+                    mapping[indexOf(localTags, numLocalTags, segment.speakerTag)]);
+        }
+        prevSegments = segments;
+        prevWindowEndSec = windowEndSec;
+    }
+
+    /**
+     * Reports the parts of the latest window's segments that precede `boundarySec`. The segment
+     * touching the boundary is held back so it can be extended by the next window, unless it
+     * already spans a full window.
+     */
+    private void emit(double boundarySec, boolean isFinal) {
+        List<FalconSegment> emitted = new ArrayList<>();
+        for (Segment segment : prevSegments) {
+            double startSec = Math.max(segment.startSec, finalizedSec);
+            double endSec = Math.min(segment.endSec, boundarySec);
+            if (endSec <= startSec) {
+                continue;
+            }
+
+            if (pending != null &&
+                    pending.speakerTag == segment.speakerTag &&
+                    startSec - pending.endSec <= MERGE_GAP_SEC) {
+                pending = new Segment(pending.startSec, Math.max(pending.endSec, endSec), pending.speakerTag);
+            } else {
+                if (pending != null) {
+                    emitted.add(pending.toFalconSegment());
+                }
+                pending = new Segment(startSec, endSec, segment.speakerTag);
+            }
+        }
+
+        if (pending != null) {
+            double windowSec = windowSamples / (double) sampleRate;
+            boolean touchesBoundary = pending.endSec >= boundarySec - MERGE_GAP_SEC;
+            if (isFinal || !touchesBoundary || pending.endSec - pending.startSec >= windowSec) {
+                emitted.add(pending.toFalconSegment());
+                pending = null;
+            }
+        }
+        if (!isFinal) {
+            finalizedSec = boundarySec;
+        }
+
+        if (!emitted.isEmpty() && segmentListener != null) {
+            segmentListener.onSegments(emitted.toArray(new FalconSegment[0]));
+        }
+    }
+
+    private static int indexOf(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Segment {
+        private final double startSec;
+        private final double endSec;
+        private final int speakerTag;
+
+        private Segment(double startSec, double endSec, int speakerTag) {
+            this.startSec = startSec;
+            this.endSec = endSec;
+            this.speakerTag = speakerTag;
+        }
+
+        private FalconSegment toFalconSegment() {
+            return new FalconSegment((float) startSec, (float) endSec, speakerTag);
+        }
+    }
+
+    /**
+     * Builder for creating an instance of FalconStream.
+     */
+    public static class Builder {
+
+        private Falcon.Builder falconBuilder = null;
+        private float windowSec = 30.0f;
+        private float hopSec = 10.0f;
+        private SegmentListener segmentListener = null;
+        private ErrorListener errorListener = null;
+
+        /**
+         * Setter for the builder used to create the stream's Falcon instance. The instance is
+         * owned by the stream and released by {@link FalconStream#delete()}.
+         *
+         * @param falconBuilder Configured Falcon builder.
+         */
+        public Builder setFalconBuilder(Falcon.Builder falconBuilder) {
+            this.falconBuilder = falconBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the length of audio diarized at once. Longer windows give the engine more
+         * context per speaker. Defaults to 30 seconds.
+         *
+         * @param windowSec Window length in seconds.
+         */
+        public Builder setWindowSec(float windowSec) {
+            this.windowSec = windowSec;
+            return this;
+        }
+
+        /**
+         * Setter for the time between the starts of consecutive windows. This bounds how long it
+         * takes for a segment to be reported. Must be shorter than the window so consecutive
+         * windows overlap. Defaults to 10 seconds.
+         *
+         * @param hopSec Hop length in seconds.
+         */
+        public Builder setHopSec(float hopSec) {
+            this.hopSec = hopSec;
+            return this;
+        }
+
+        /**
+         * Setter for the listener receiving finalized segments.
+         *
+         * @param segmentListener Segment listener.
+         */
+        public Builder setSegmentListener(SegmentListener segmentListener) {
+            this.segmentListener = segmentListener;
+            return this;
+        }
+
+        /**
+         * Setter for the listener receiving background diarization errors.
+         *
+         * @param errorListener Error listener.
+         */
+        public Builder setErrorListener(ErrorListener errorListener) {
+            this.errorListener = errorListener;
+            return this;
+        }
+
+        /**
+         * Creates an instance of FalconStream and starts its background thread.
+         */
+        public FalconStream build() throws FalconException {
+            if (falconBuilder == null) {
+                throw new FalconInvalidArgumentException("No Falcon.Builder was provided to FalconStream");
+            }
+            if (!(windowSec > 0) || !(hopSec > 0) || hopSec >= windowSec) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "FalconStream hop (%.2fs) must be positive and shorter than the window (%.2fs).",
+                                hopSec,
+                                windowSec));
+            }
+            if (segmentListener == null) {
+                throw new FalconInvalidArgumentException("No SegmentListener was provided to FalconStream");
+            }
+
+            return new FalconStream(
+                    falconBuilder.build(),
+                    windowSec,
+                    hopSec,
+                    segmentListener,
+                    errorListener);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates recorded audio frames for diarization once recording stops, without boxing samples
+ * or growing one large array.
+ *
+ * Frames are appended to fixed-size primitive chunks taken from a process-wide pool. Once the
+ * recording exceeds the spill threshold, the chunks are written to an append-only WAV file and
+ * later frames go straight to that file. {@link #process(Falcon)} hands the audio to the engine
+ * without an intermediate array: in-memory chunks are gathered directly into the native buffer the
+ * engine reads, and a spilled recording is memory-mapped through {@link Falcon#processWav(Path)}.
+ *
+ * The buffer is thread-safe, so frames can be appended from a recorder thread and processed from
+ * another. Processing diarizes the audio appended before the call and does not block appends while
+ * the engine runs.
+ */
+public class PcmRecorderBuffer {
+
+    static final int CHUNK_SAMPLES = 16384;
+    private static final int MAX_POOLED_CHUNKS = 128;
+    private static final ArrayDeque<short[]> chunkPool = new ArrayDeque<>();
+
+    private static final int WAV_HEADER_SIZE = 44;
+
+    private final int sampleRate;
+    private final long spillThresholdSamples;
+    private final Path spillDirectory;
+
+    private final List<short[]> chunks = new ArrayList<>();
+    private long numSamples = 0;
+
+    private Path spillPath = null;
+    private FileChannel spillChannel = null;
+    private ByteBuffer spillStaging = null;
+    private boolean isDeleted = false;
+
+    private PcmRecorderBuffer(int sampleRate, long spillThresholdSamples, Path spillDirectory) {
+        this.sampleRate = sampleRate;
+        this.spillThresholdSamples = spillThresholdSamples;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Appends a frame of audio.
+     *
+     * @param frame Audio samples.
+     * @throws FalconException if the buffer has been deleted or writing the spill file fails.
+     */
+    public void append(short[] frame) throws FalconException {
+        if (frame == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to PcmRecorderBuffer append.");
+        }
+
+        append(frame, 0, frame.length);
+    }
+
+    /**
+     * Appends a range of a frame of audio.
+     *
+     * @param frame  Audio samples.
+     * @param offset Index of the first sample to append.
+     * @param length Number of samples to append.
+     * @throws FalconException if the buffer has been deleted or writing the spill file fails.
+     */
+    public synchronized void append(short[] frame, int offset, int length) throws FalconException {
+        if (isDeleted) {
+            throw new FalconInvalidStateException("Attempted to call PcmRecorderBuffer append after delete.");
+        }
+
+        if (frame == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to PcmRecorderBuffer append.");
+        }
+
+        if (offset < 0 || length < 0 || offset > frame.length - length) {
+            throw new FalconInvalidArgumentException(
+                    String.format(
+                            "Invalid range (offset %d, length %d) for a frame of %d samples passed to " +
+                                    "PcmRecorderBuffer append.",
+                            offset,
+                            length,
+                            frame.length));
+        }
+
+        try {
+            if (spillChannel == null && numSamples + length > spillThresholdSamples) {
+                spill();
+            }
+
+            if (spillChannel != null) {
+                writeToSpill(frame, offset, length);
+            } else {
+                writeToChunks(frame, offset, length);
+            }
+        } catch (IOException e) {
+            throw new FalconIOException(e);
+        }
+        numSamples += length;
+    }
+
+    /**
+     * Getter for the number of samples appended since the buffer was built or cleared.
+     *
+     * @return Number of samples.
+     */
+    public synchronized long getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * Getter for the length of the recording.
+     *
+     * @return Length in seconds.
+     */
+    public synchronized double getLengthSec() {
+        return numSamples / (double) sampleRate;
+    }
+
+    /**
+     * Whether the recording has been moved to the spill file.
+     *
+     * @return `true` if the recording is on disk.
+     */
+    public synchronized boolean isSpilled() {
+        return spillChannel != null;
+    }
+
+    /**
+     * Getter for the spill file. The file is a WAV file whose header is brought up to date by
+     * {@link #process(Falcon)} and {@link #finishSpillFile()}.
+     *
+     * @return Path of the spill file, or `null` if the recording is in memory.
+     */
+    public synchronized Path getSpillPath() {
+        return spillPath;
+    }
+
+    /**
+     * Diarizes the recording. See {@link Falcon#process(short[])}.
+     *
+     * @param falcon Falcon instance to process the recording with.
+     * @return FalconSegment[] object which contains the diarization results of the engine.
+     * @throws FalconException if the buffer is not usable or there is an error while processing the audio.
+     */
+    public FalconSegment[] process(Falcon falcon) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInto(falcon, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Diarizes the recording and writes the segments into a caller-owned buffer. See
+     * {@link #process(Falcon)}.
+     *
+     * @param falcon   Falcon instance to process the recording with.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if the buffer is not usable or there is an error while processing the audio.
+     */
+    public int processInto(Falcon falcon, FalconSegmentBuffer segments) throws FalconException {
+        try (Arena arena = Arena.ofConfined()) {
+            // Only the snapshot is taken under the lock, so the recorder thread can keep appending
+            // while the engine runs. Spill file appends land after the data size in its header.
+            Path wav = null;
+            MemorySegment pcm = null;
+            synchronized (this) {
+                if (isDeleted) {
+                    throw new FalconInvalidStateException("Attempted to call PcmRecorderBuffer process after delete.");
+                }
+
+                if (falcon == null) {
+                    throw new FalconInvalidArgumentException("Passed null Falcon to PcmRecorderBuffer process.");
+                }
+
+                if (spillChannel != null) {
+                    finishSpillFile();
+                    wav = spillPath;
+                } else {
+                    pcm = toMemorySegment(arena);
+                }
+            }
+
+            if (wav != null) {
+                return falcon.processWavInto(wav, segments);
+            }
+            return falcon.processInto(pcm, segments);
+        }
+    }
+
+    /**
+     * Copies an in-memory recording into a native memory segment, e.g. to pass it to
+     * {@link Falcon#process(MemorySegment)}. For a spilled recording, use {@link #getSpillPath()}.
+     *
+     * @param arena Arena that owns the returned segment.
+     * @return Native segment holding the recording as native-ordered 16-bit samples.
+     * @throws FalconException if the buffer has been deleted or the recording has been spilled.
+     */
+    public synchronized MemorySegment toMemorySegment(Arena arena) throws FalconException {
+        if (isDeleted) {
+            throw new FalconInvalidStateException("Attempted to call PcmRecorderBuffer toMemorySegment after delete.");
+        }
+
+        if (spillChannel != null) {
+            throw new FalconInvalidStateException(
+                    "PcmRecorderBuffer recording was spilled to disk; use getSpillPath() instead.");
+        }
+
+        MemorySegment pcm = arena.allocate(ValueLayout.JAVA_SHORT, Math.max(1, numSamples));
+        long remaining = numSamples;
+        long offset = 0;
+        for (short[] chunk : chunks) {
+            int n = (int) Math.min(remaining, CHUNK_SAMPLES);
+            MemorySegment.copy(chunk, 0, pcm, ValueLayout.JAVA_SHORT, offset * 2, n);
+            offset += n;
+            remaining -= n;
+        }
+        return pcm.asSlice(0, numSamples * 2);
+    }
+
+    /**
+     * Writes any staged samples and updates the spill file's WAV header so the file can be read by
+     * other tools. Later appends continue to extend the file.
+     *
+     * @throws FalconException if writing the spill file fails.
+     */
+    public synchronized void finishSpillFile() throws FalconException {
+        if (spillChannel == null) {
+            return;
+        }
+
+        try {
+            flushStaging();
+            spillChannel.write(createWavHeader(numSamples), 0);
+            spillChannel.force(false);
+        } catch (IOException e) {
+            throw new FalconIOException(e);
+        }
+    }
+
+    /**
+     * Discards the recording, returning chunks to the pool and deleting the spill file. The buffer
+     * can be reused afterwards.
+     */
+    public synchronized void clear() {
+        releaseChunks();
+        closeSpill();
+        numSamples = 0;
+    }
+
+    /**
+     * Releases resources acquired by the buffer, including the spill file.
+     */
+    public synchronized void delete() {
+        clear();
+        isDeleted = true;
+    }
+
+    private void writeToChunks(short[] frame, int offset, int length) {
+        int written = 0;
+        while (written < length) {
+            int chunkOffset = (int) ((numSamples + written) % CHUNK_SAMPLES);
+            if (chunkOffset == 0) {
+                chunks.add(takeChunk());
+            }
+            short[] chunk = chunks.get(chunks.size() - 1);
+            int n = Math.min(length - written, CHUNK_SAMPLES - chunkOffset);
+            System.arraycopy(frame, offset + written, chunk, chunkOffset, n);
+            written += n;
+        }
+    }
+
+    private void writeToSpill(short[] frame, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            if (!spillStaging.hasRemaining()) {
+                flushStaging();
+            }
+            int n = Math.min(length - written, spillStaging.remaining() / 2);
+            spillStaging.asShortBuffer().put(frame, offset + written, n);
+            spillStaging.position(spillStaging.position() + n * 2);
+            written += n;
+        }
+    }
+
+    private void spill() throws IOException {
+        spillPath = Files.createTempFile(spillDirectory, "falcon-recording-", ".wav");
+        spillChannel = FileChannel.open(spillPath, StandardOpenOption.WRITE);
+        spillStaging = ByteBuffer.allocateDirect(CHUNK_SAMPLES * 2).order(ByteOrder.LITTLE_ENDIAN);
+
+        spillChannel.write(createWavHeader(0));
+        long remaining = numSamples;
+        for (short[] chunk : chunks) {
+            int n = (int) Math.min(remaining, CHUNK_SAMPLES);
+            writeToSpill(chunk, 0, n);
+            remaining -= n;
+        }
+        releaseChunks();
+    }
+
+    private void flushStaging() throws IOException {
+        spillStaging.flip();
+        while (spillStaging.hasRemaining()) {
+            spillChannel.write(spillStaging, spillChannel.size());
+        }
+        spillStaging.clear();
+    }
+
+    private ByteBuffer createWavHeader(long numSamples) {
+        long dataSize = Math.min(numSamples * 2, 0xFFFFFFFFL - (WAV_HEADER_SIZE - 8));
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0x46464952); // "RIFF"
+        header.putInt((int) (dataSize + WAV_HEADER_SIZE - 8));
+        header.putInt(0x45564157); // "WAVE"
+        header.putInt(0x20746d66); // "fmt "
+        header.putInt(16);
+        header.putShort((short) 1);
+        header.putShort((short) 1);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * 2);
+        header.putShort((short) 2);
+        header.putShort((short) 16);
+        header.putInt(0x61746164); // "data"
+        header.putInt((int) dataSize);
+        header.flip();
+        return header;
+    }
+
+    private void releaseChunks() {
+        synchronized (chunkPool) {
+            for (short[] chunk : chunks) {
+                if (chunkPool.size() < MAX_POOLED_CHUNKS) {
+                    chunkPool.push(chunk);
+                }
+            }
+        }
+        chunks.clear();
+    }
+
+    private void closeSpill() {
+        if (spillChannel == null) {
+            return;
+        }
+        try {
+            spillChannel.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            Files.deleteIfExists(spillPath);
+        } catch (IOException ignored) {
+        }
+        spillChannel = null;
+        spillPath = null;
+        spillStaging = null;
+    }
+
+    private static short[] takeChunk() {
+        synchronized (chunkPool) {
+            short[] chunk = chunkPool.poll();
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return new short[CHUNK_SAMPLES];
+    }
+
+    /**
+     * Builder for creating an instance of PcmRecorderBuffer.
+     */
+    public static class Builder {
+
+        private static final int DEFAULT_SAMPLE_RATE = 16000;
+        private static final double DEFAULT_SPILL_THRESHOLD_SEC = 300;
+
+        private int sampleRate = DEFAULT_SAMPLE_RATE;
+        private double spillThresholdSec = DEFAULT_SPILL_THRESHOLD_SEC;
+        private String spillDirectory = null;
+
+        /**
+         * Setter for the sample rate of the recorded audio. Must equal {@link Falcon#getSampleRate()}.
+         * Defaults to 16000.
+         *
+         * @param sampleRate Sample rate in Hz.
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for the recording length above which audio is moved to the spill file. `0` writes
+         * all audio to the file. Defaults to 300 seconds.
+         *
+         * @param spillThresholdSec Spill threshold in seconds.
+         */
+        public Builder setSpillThresholdSec(double spillThresholdSec) {
+            this.spillThresholdSec = spillThresholdSec;
+            return this;
+        }
+
+        /**
+         * Setter for the directory the spill file is created in. Defaults to the system temporary
+         * directory.
+         *
+         * @param spillDirectory Absolute path to an existing directory.
+         */
+        public Builder setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        /**
+         * Creates an instance of PcmRecorderBuffer.
+         */
+        public PcmRecorderBuffer build() throws FalconException {
+            if (sampleRate <= 0) {
+                throw new FalconInvalidArgumentException(
+                        String.format("PcmRecorderBuffer sample rate must be positive, got %d.", sampleRate));
+            }
+
+            if (spillThresholdSec < 0 || Double.isNaN(spillThresholdSec)) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "PcmRecorderBuffer spill threshold must be non-negative, got %f.",
+                                spillThresholdSec));
+            }
+
+            Path directory = Paths.get(spillDirectory != null ? spillDirectory : System.getProperty("java.io.tmpdir"));
+            if (!Files.isDirectory(directory)) {
+                throw new FalconIOException(String.format("Could not find spill directory at '%s'.", directory));
+            }
+
+            return new PcmRecorderBuffer(sampleRate, (long) (spillThresholdSec * sampleRate), directory);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Converts interleaved 16-bit PCM at any sample rate and channel count to mono at the engine's
+ * sample rate.
+ *
+ * Channels are averaged, or a single channel is picked out, then a polyphase windowed-sinc filter
+ * resamples the mono signal. The filter's cutoff is just below the lower of the two Nyquist
+ * frequencies, so it both interpolates when upsampling and removes aliasing when downsampling.
+ * Work is done in fixed-size blocks with scratch buffers allocated once per instance, so
+ * converting does not allocate. Instances are not thread-safe.
+ */
+final class PcmResampler {
+
+    static final int BLOCK_SIZE = 4096;
+    static final int ALL_CHANNELS = -1;
+
+    private static final int ZERO_CROSSINGS = 16;
+    private static final double ROLLOFF = 0.9;
+    private static final double KAISER_BETA = 8.0;
+    // Rates with no large common divisor would need thousands of phases; rounding the fractional
+    // position to 1/1024 of a sample is well below audible or diarization-relevant error.
+    private static final int MAX_PHASES = 1024;
+
+    private final int inputRate;
+    private final int numChannels;
+    private final int channel;
+    private final long up;
+    private final long down;
+    private final int numPhases;
+    private final int numTaps;
+    private final int tapOffset;
+    private final float[] filter;
+    private final short[] frames;
+    private final float[] input;
+    private final short[] output;
+
+    PcmResampler(int inputRate, int outputRate, int numChannels) {
+        this(inputRate, outputRate, numChannels, ALL_CHANNELS);
+    }
+
+    /**
+     * @param channel Index of the channel to convert, or {@link #ALL_CHANNELS} to average them.
+     */
+    PcmResampler(int inputRate, int outputRate, int numChannels, int channel) {
+        this.inputRate = inputRate;
+        this.numChannels = numChannels;
+        this.channel = channel;
+
+        long divisor = gcd(inputRate, outputRate);
+        this.up = outputRate / divisor;
+        this.down = inputRate / divisor;
+
+        if (up == down) {
+            numPhases = 1;
+            numTaps = 1;
+            filter = new float[]{1};
+        } else {
+            double scale = ROLLOFF * Math.min(1.0, (double) outputRate / inputRate);
+            double halfWidth = ZERO_CROSSINGS / scale;
+            numPhases = (int) Math.min(up, MAX_PHASES);
+            numTaps = 2 * (int) Math.ceil(halfWidth);
+            filter = new float[numPhases * numTaps];
+            designFilter(scale, halfWidth);
+        }
+        tapOffset = (numTaps - 1) / 2;
+
+        input = new float[(int) ((BLOCK_SIZE - 1) * down / up) + numTaps + 1];
+        frames = new short[input.length * numChannels];
+        output = new short[BLOCK_SIZE];
+    }
+
+    boolean matches(int inputRate, int numChannels, int channel) {
+        return this.inputRate == inputRate && this.numChannels == numChannels && this.channel == channel;
+    }
+
+    /**
+     * Number of output samples produced for a given number of input frames.
+     */
+    long getOutputLength(int numFrames) {
+        return numFrames * up / down;
+    }
+
+    /**
+     * Converts the first `numFrames` frames of `pcm` and writes {@link #getOutputLength(int)}
+     * native-ordered samples to the start of `dst`.
+     */
+    void resample(short[] pcm, int numFrames, MemorySegment dst) {
+        resample(MemorySegment.ofArray(pcm), ValueLayout.JAVA_SHORT, numFrames, dst);
+    }
+
+    /**
+     * Converts the first `numFrames` frames of `src`, read with `layout`, and writes
+     * {@link #getOutputLength(int)} native-ordered samples to the start of `dst`. `src` can be a
+     * memory-mapped file, in which case only the pages being converted are touched.
+     */
+    void resample(MemorySegment src, ValueLayout.OfShort layout, int numFrames, MemorySegment dst) {
+        long numOutput = getOutputLength(numFrames);
+        for (long blockStart = 0; blockStart < numOutput; blockStart += BLOCK_SIZE) {
+            int blockLength = (int) Math.min(BLOCK_SIZE, numOutput - blockStart);
+            long firstFrame = blockStart * down / up - tapOffset;
+            long lastFrame = (blockStart + blockLength - 1) * down / up - tapOffset + numTaps - 1;
+            downmix(src, layout, numFrames, firstFrame, (int) (lastFrame - firstFrame + 1));
+
+            for (int i = 0; i < blockLength; i++) {
+                long position = (blockStart + i) * down;
+                int base = (int) (position / up - tapOffset - firstFrame);
+                int phase = (int) ((position % up) * numPhases / up);
+                int coefficients = phase * numTaps;
+                float sum = 0;
+                for (int k = 0; k < numTaps; k++) {
+                    sum += filter[coefficients + k] * input[base + k];
+                }
+                output[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(sum)));
+            }
+            MemorySegment.copy(output, 0, dst, ValueLayout.JAVA_SHORT, blockStart * Short.BYTES, blockLength);
+        }
+    }
+
+    /**
+     * Copies frames `[firstFrame, firstFrame + length)` into the input scratch buffer, averaging
+     * channels or picking out the selected one. Frames outside the audio are treated as silence.
+     */
+    private void downmix(MemorySegment src, ValueLayout.OfShort layout, int numFrames, long firstFrame, int length) {
+        int i = 0;
+        while (i < length && firstFrame + i < 0) {
+            input[i++] = 0;
+        }
+
+        // Copy the frames inside the audio in one go, which also swaps byte order if needed.
+        long frame = firstFrame + i;
+        int count = (int) Math.max(0, Math.min(length - i, numFrames - frame));
+        if (count > 0) {
+            MemorySegment.copy(src, layout, frame * numChannels * Short.BYTES, frames, 0, count * numChannels);
+        }
+        for (int j = 0; j < count; j++, i++) {
+            int offset = j * numChannels;
+            if (channel != ALL_CHANNELS) {
+                input[i] = frames[offset + channel];
+                continue;
+            }
+            int sum = 0;
+            for (int c = 0; c < numChannels; c++) {
+                sum += frames[offset + c];
+            }
+            input[i] = (float) sum / numChannels;
+        }
+
+        while (i < length) {
+            input[i++] = 0;
+        }
+    }
+
+    private void designFilter(double scale, double halfWidth) {
+        int offset = (numTaps - 1) / 2;
+        double kaiserNorm = besselI0(KAISER_BETA);
+        for (int p = 0; p < numPhases; p++) {
+            double fraction = (double) p / numPhases;
+            double sum = 0;
+            for (int k = 0; k < numTaps; k++) {
+                // Distance in input samples from the output position to tap k.
+                double distance = fraction + offset - k;
+                double x = distance / halfWidth;
+                double window = Math.abs(x) >= 1 ? 0 : besselI0(KAISER_BETA * Math.sqrt(1 - x * x)) / kaiserNorm;
+                double value = scale * sinc(scale * distance) * window;
+                filter[p * numTaps + k] = (float) value;
+                sum += value;
+            }
+            // Unity gain at DC for every phase, so a constant input stays constant.
+            for (int k = 0; k < numTaps; k++) {
+                filter[p * numTaps + k] /= (float) sum;
+            }
+        }
+    }
+
+    private static double sinc(double x) {
+        if (x == 0) {
+            return 1;
+        }
+        return Math.sin(Math.PI * x) / (Math.PI * x);
+    }
+
+    private static double besselI0(double x) {
+        double sum = 1;
+        double term = 1;
+        for (int k = 1; k < 50; k++) {
+            term *= (x / (2 * k)) * (x / (2 * k));
+            sum += term;
+            if (term < sum * 1e-12) {
+                break;
+            }
+        }
+        return sum;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,413 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * Optional pre-stage that removes long stretches of silence before diarization, so the engine only
+ * spends compute on speech.
+ *
+ * The audio is split into 20 ms frames, each classified by its energy against the recording's own
+ * noise floor, with the zero-crossing rate used to keep quiet fricatives. Runs of non-speech longer
+ * than the minimum silence are cut, keeping a guard band of audio on either side. The remaining
+ * regions are concatenated and processed together, and the returned segments are mapped back to
+ * the original timeline. Segments that span a cut are split at it.
+ */
+public class SilenceSkipper {
+
+    private static final double FRAME_SEC = 0.02;
+    private static final double NOISE_FLOOR_PERCENTILE = 0.1;
+    // Frames above this level always count as speech, whatever the noise floor.
+    private static final double MAX_THRESHOLD_DB = -40;
+    private static final double FRICATIVE_ZERO_CROSSING_RATE = 0.25;
+
+    private final double minSilenceSec;
+    private final double guardSec;
+    private final double marginDb;
+
+    private volatile Stats lastStats = null;
+
+    private SilenceSkipper(double minSilenceSec, double guardSec, double marginDb) {
+        this.minSilenceSec = minSilenceSec;
+        this.guardSec = guardSec;
+        this.marginDb = marginDb;
+    }
+
+    /**
+     * Diarizes audio with long silences removed. See {@link Falcon#process(short[])}.
+     *
+     * @param falcon Falcon instance to process the audio with.
+     * @param pcm    Audio samples.
+     * @return FalconSegment[] object with segment times on the timeline of `pcm`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public FalconSegment[] process(Falcon falcon, short[] pcm) throws FalconException {
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        processInto(falcon, pcm, segments);
+        return segments.toArray();
+    }
+
+    /**
+     * Diarizes audio with long silences removed and writes the segments into a caller-owned buffer.
+     * See {@link #process(Falcon, short[])}.
+     *
+     * @param falcon   Falcon instance to process the audio with.
+     * @param pcm      Audio samples.
+     * @param segments Buffer that receives the segments. Its previous contents are overwritten.
+     * @return Number of segments written to `segments`.
+     * @throws FalconException if there is an error while processing the audio.
+     */
+    public int processInto(Falcon falcon, short[] pcm, FalconSegmentBuffer segments) throws FalconException {
+        if (falcon == null) {
+            throw new FalconInvalidArgumentException("Passed null Falcon to SilenceSkipper process.");
+        }
+
+        if (pcm == null) {
+            throw new FalconInvalidArgumentException("Passed null frame to SilenceSkipper process.");
+        }
+
+        if (segments == null) {
+            throw new FalconInvalidArgumentException("Passed null segment buffer to SilenceSkipper process.");
+        }
+
+        int sampleRate = falcon.getSampleRate();
+        long detectStartNs = System.nanoTime();
+        int[] regions = detectSpeechRegions(pcm, sampleRate);
+        long detectNs = System.nanoTime() - detectStartNs;
+
+        int numKept = 0;
+        for (int i = 0; i < regions.length; i += 2) {
+            numKept += regions[i + 1] - regions[i];
+        }
+
+        long processStartNs = System.nanoTime();
+        if (numKept == 0) {
+            segments.reset(0);
+        } else if (numKept == pcm.length) {
+            falcon.processInto(pcm, segments);
+        } else {
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment kept = arena.allocate(ValueLayout.JAVA_SHORT, numKept);
+                long offset = 0;
+                for (int i = 0; i < regions.length; i += 2) {
+                    int length = regions[i + 1] - regions[i];
+                    MemorySegment.copy(pcm, regions[i], kept, ValueLayout.JAVA_SHORT, offset * 2, length);
+                    offset += length;
+                }
+                falcon.processInto(kept, segments);
+            }
+            remap(segments, regions, sampleRate);
+        }
+        long processNs = System.nanoTime() - processStartNs;
+
+        lastStats = new Stats(
+                pcm.length / (double) sampleRate,
+                numKept / (double) sampleRate,
+                regions.length / 2,
+                detectNs,
+                processNs);
+        return segments.getNumSegments();
+    }
+
+    /**
+     * Getter for statistics of the most recent call on this instance.
+     *
+     * @return Stats, or `null` if nothing has been processed yet.
+     */
+    public Stats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Finds the regions to send to the engine.
+     *
+     * @return Flattened `[start, end)` sample ranges in increasing order.
+     */
+    int[] detectSpeechRegions(short[] pcm, int sampleRate) {
+        int frameLength = Math.max(1, (int) (sampleRate * FRAME_SEC));
+        int numFrames = (pcm.length + frameLength - 1) / frameLength;
+        if (numFrames == 0) {
+            return new int[0];
+        }
+
+        double[] energyDb = new double[numFrames];
+        double[] zeroCrossingRate = new double[numFrames];
+        for (int f = 0; f < numFrames; f++) {
+            int start = f * frameLength;
+            int end = Math.min(pcm.length, start + frameLength);
+            double sumSquares = 0;
+            int crossings = 0;
+            for (int i = start; i < end; i++) {
+                sumSquares += (double) pcm[i] * pcm[i];
+                if (i > start && ((pcm[i] >= 0) != (pcm[i - 1] >= 0))) {
+                    crossings++;
+                }
+            }
+            double meanSquare = sumSquares / ((end - start) * 32768.0 * 32768.0);
+            energyDb[f] = 10 * Math.log10(meanSquare + 1e-10);
+            zeroCrossingRate[f] = crossings / (double) (end - start);
+        }
+
+        double[] sorted = energyDb.clone();
+        Arrays.sort(sorted);
+        double noiseFloorDb = sorted[(int) (NOISE_FLOOR_PERCENTILE * (numFrames - 1))];
+        double thresholdDb = Math.min(noiseFloorDb + marginDb, MAX_THRESHOLD_DB);
+
+        boolean[] isSpeech = new boolean[numFrames];
+        for (int f = 0; f < numFrames; f++) {
+            isSpeech[f] = energyDb[f] > thresholdDb ||
+                    (energyDb[f] > thresholdDb - marginDb / 2 &&
+                            zeroCrossingRate[f] > FRICATIVE_ZERO_CROSSING_RATE);
+        }
+
+        // Cut runs of non-speech long enough to leave a guard band on both sides.
+        int minSilenceFrames = (int) Math.ceil(minSilenceSec / FRAME_SEC);
+        int guardSamples = (int) (guardSec * sampleRate);
+        int[] regions = new int[2 * (numFrames / 2 + 1)];
+        int numRegions = 0;
+        int keepStart = 0;
+        int f = 0;
+        while (f < numFrames) {
+            if (isSpeech[f]) {
+                f++;
+                continue;
+            }
+            int runStart = f;
+            while (f < numFrames && !isSpeech[f]) {
+                f++;
+            }
+            if (f - runStart < minSilenceFrames) {
+                continue;
+            }
+
+            int cutStart = runStart == 0 ? 0 : Math.min(pcm.length, runStart * frameLength + guardSamples);
+            int cutEnd = f == numFrames ? pcm.length : Math.max(0, f * frameLength - guardSamples);
+            if (cutEnd <= cutStart) {
+                continue;
+            }
+            if (cutStart > keepStart) {
+                regions[numRegions++] = keepStart;
+                regions[numRegions++] = cutStart;
+            }
+            keepStart = cutEnd;
+        }
+        if (keepStart < pcm.length) {
+            regions[numRegions++] = keepStart;
+            regions[numRegions++] = pcm.length;
+        }
+        return Arrays.copyOf(regions, numRegions);
+    }
+
+    static void remap(FalconSegmentBuffer segments, int[] regions, int sampleRate) {
+        int numRegions = regions.length / 2;
+        double[] keptStartSec = new double[numRegions + 1];
+        for (int r = 0; r < numRegions; r++) {
+            keptStartSec[r + 1] = keptStartSec[r] + (regions[2 * r + 1] - regions[2 * r]) / (double) sampleRate;
+        }
+
+        int numSegments = segments.getNumSegments();
+        float[] startSec = new float[numSegments + numRegions];
+        float[] endSec = new float[numSegments + numRegions];
+        int[] speakerTag = new int[numSegments + numRegions];
+        int numRemapped = 0;
+        int r = 0;
+        for (int i = 0; i < numSegments; i++) {
+            double segmentStart = segments.getStartSec(i);
+            double segmentEnd = segments.getEndSec(i);
+            while (r > 0 && keptStartSec[r] > segmentStart) {
+                r--;
+            }
+            for (int k = r; k < numRegions && keptStartSec[k] < segmentEnd; k++) {
+                double pieceStart = Math.max(segmentStart, keptStartSec[k]);
+                double pieceEnd = Math.min(segmentEnd, keptStartSec[k + 1]);
+                if (pieceEnd <= pieceStart) {
+                    r = k + 1;
+                    continue;
+                }
+                if (numRemapped == startSec.length) {
+                    startSec = Arrays.copyOf(startSec, 2 * numRemapped);
+                    endSec = Arrays.copyOf(endSec, 2 * numRemapped);
+                    speakerTag = Arrays.copyOf(speakerTag, 2 * numRemapped);
+                }
+                double originalStart = regions[2 * k] / (double) sampleRate;
+                startSec[numRemapped] = (float) (originalStart + pieceStart - keptStartSec[k]);
+                endSec[numRemapped] = (float) (originalStart + pieceEnd - keptStartSec[k]);
+                speakerTag[numRemapped] = segments.getSpeakerTag(i);
+                numRemapped++;
+                r = k;
+            }
+        }
+
+        segments.reset(numRemapped);
+        for (int i = 0; i < numRemapped; i++) {
+            segments.set(i, startSec[i], endSec[i], speakerTag[i]);
+        }
+    }
+
+    /**
+     * Statistics of one {@link SilenceSkipper} call.
+     */
+    public static final class Stats {
+        private final double inputSec;
+        private final double processedSec;
+        private final int numRegions;
+        private final long detectNs;
+        private final long processNs;
+
+        private Stats(double inputSec, double processedSec, int numRegions, long detectNs, long processNs) {
+            this.inputSec = inputSec;
+            this.processedSec = processedSec;
+            this.numRegions = numRegions;
+            this.detectNs = detectNs;
+            this.processNs = processNs;
+        }
+
+        /**
+         * Getter for the length of the input audio.
+         *
+         * @return Input length in seconds.
+         */
+        public double getInputSec() {
+            return inputSec;
+        }
+
+        /**
+         * Getter for the length of audio sent to the engine, including guard bands.
+         *
+         * @return Processed length in seconds.
+         */
+        public double getProcessedSec() {
+            return processedSec;
+        }
+
+        /**
+         * Getter for the fraction of the input that was skipped.
+         *
+         * @return Skipped fraction in `[0, 1]`.
+         */
+        public double getSkippedFraction() {
+            return inputSec > 0 ? 1 - processedSec / inputSec : 0;
+        }
+
+        /**
+         * Getter for the number of speech regions sent to the engine.
+         *
+         * @return Number of regions.
+         */
+        public int getNumRegions() {
+            return numRegions;
+        }
+
+        /**
+         * Getter for the time spent detecting silence.
+         *
+         * @return Detection time in nanoseconds.
+         */
+        public long getDetectNs() {
+            return detectNs;
+        }
+
+        /**
+         * Getter for the time spent gathering, diarizing and remapping the speech regions.
+         *
+         * @return Processing time in nanoseconds.
+         */
+        public long getProcessNs() {
+            return processNs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "SilenceSkipper.Stats{inputSec=%.2f, processedSec=%.2f, skipped=%.1f%%, regions=%d, " +
+                            "detectMs=%.2f, processMs=%.2f}",
+                    inputSec,
+                    processedSec,
+                    100 * getSkippedFraction(),
+                    numRegions,
+                    detectNs / 1e6,
+                    processNs / 1e6);
+        }
+    }
+
+    /**
+     * Builder for creating an instance of SilenceSkipper.
+     */
+    public static class Builder {
+
+        private double minSilenceSec = 1.0;
+        private double guardSec = 0.2;
+        private double marginDb = 12;
+
+        /**
+         * Setter for the shortest stretch of silence that is cut, guard bands included. Defaults to 1 second.
+         *
+         * @param minSilenceSec Minimum silence in seconds.
+         */
+        public Builder setMinSilenceSec(double minSilenceSec) {
+            this.minSilenceSec = minSilenceSec;
+            return this;
+        }
+
+        /**
+         * Setter for the audio kept on each side of a cut so speech onsets and endings are not clipped.
+         * Defaults to 0.2 seconds.
+         *
+         * @param guardSec Guard band in seconds.
+         */
+        public Builder setGuardSec(double guardSec) {
+            this.guardSec = guardSec;
+            return this;
+        }
+
+        /**
+         * Setter for how far above the recording's noise floor a frame must be to count as speech.
+         * Defaults to 12 dB.
+         *
+         * @param marginDb Margin in decibels.
+         */
+        public Builder setMarginDb(double marginDb) {
+            this.marginDb = marginDb;
+            return this;
+        }
+
+        /**
+         * Creates an instance of SilenceSkipper.
+         */
+        public SilenceSkipper build() throws FalconException {
+            if (!(guardSec >= 0)) {
+                throw new FalconInvalidArgumentException(
+                        String.format("SilenceSkipper guard must be non-negative, got %f.", guardSec));
+            }
+
+            if (!(minSilenceSec > 2 * guardSec)) {
+                throw new FalconInvalidArgumentException(
+                        String.format(
+                                "SilenceSkipper minimum silence (%f) must be longer than two guard bands (%f).",
+                                minSilenceSec,
+                                2 * guardSec));
+            }
+
+            if (!(marginDb > 0)) {
+                throw new FalconInvalidArgumentException(
+                        String.format("SilenceSkipper margin must be positive, got %f.", marginDb));
+            }
+
+            return new SilenceSkipper(minSilenceSec, guardSec, marginDb);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+class Utils {
+
+    private static final String RESOURCE_ROOT = "ai/picovoice/falcon/";
+
+    private static Path extractionDirectory;
+
+    static String getPackagedModelPath() throws FalconIOException {
+        return extractResource("lib/common/falcon_params.pv");
+    }
+
+    static String getPackagedLibraryPath() throws FalconException {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        String arch = System.getProperty("os.arch", "").toLowerCase(Locale.ROOT);
+        if (!os.contains("linux") || !(arch.equals("amd64") || arch.equals("x86_64"))) {
+            throw new FalconRuntimeException(
+                    String.format("Falcon Java binding does not support %s (%s).", os, arch));
+        }
+        return extractResource("lib/linux/x86_64/libpv_falcon.so");
+    }
+
+    private static synchronized String extractResource(String resource) throws FalconIOException {
+        try {
+            if (extractionDirectory == null) {
+                extractionDirectory = Files.createTempDirectory("falcon");
+                extractionDirectory.toFile().deleteOnExit();
+            }
+
+            Path dstPath = extractionDirectory.resolve(resource);
+            if (!Files.exists(dstPath)) {
+                try (InputStream is = Utils.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + resource)) {
+                    if (is == null) {
+                        throw new FalconIOException(
+                                String.format("Could not find packaged resource '%s'.", resource));
+                    }
+                    Files.createDirectories(dstPath.getParent());
+                    Files.copy(is, dstPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+                dstPath.toFile().deleteOnExit();
+            }
+            return dstPath.toAbsolutePath().toString();
+        } catch (IOException ex) {
+            throw new FalconIOException(ex);
+        }
+    }
+}
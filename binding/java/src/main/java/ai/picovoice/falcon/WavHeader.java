@@ -0,0 +1,141 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT_UNALIGNED;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Minimal RIFF/WAVE header parser. Locates the `fmt ` and `data` chunks of a WAV file held in a
+ * memory segment so the PCM region can be used in place.
+ */
+class WavHeader {
+
+    private static final int RIFF = 0x46464952;
+    private static final int WAVE = 0x45564157;
+    private static final int FMT = 0x20746d66;
+    private static final int DATA = 0x61746164;
+
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private static final int RIFF_HEADER_SIZE = 12;
+    private static final int CHUNK_HEADER_SIZE = 8;
+
+    // WAVE_FORMAT_EXTENSIBLE stores the real format in a SubFormat GUID at this offset of the
+    // `fmt ` chunk. Its first two bytes are the format code and the rest is a fixed suffix.
+    private static final int SUB_FORMAT_OFFSET = 24;
+    private static final int EXTENSIBLE_FMT_SIZE = 40;
+    private static final byte[] SUB_FORMAT_GUID_SUFFIX = {
+            0x00, 0x00, 0x00, 0x00, 0x10, 0x00, (byte) 0x80, 0x00,
+            0x00, (byte) 0xAA, 0x00, 0x38, (byte) 0x9B, 0x71
+    };
+
+    final int numChannels;
+    final int sampleRate;
+    final int bitsPerSample;
+    final long dataOffset;
+    final long dataSize;
+
+    private WavHeader(int numChannels, int sampleRate, int bitsPerSample, long dataOffset, long dataSize) {
+        this.numChannels = numChannels;
+        this.sampleRate = sampleRate;
+        this.bitsPerSample = bitsPerSample;
+        this.dataOffset = dataOffset;
+        this.dataSize = dataSize;
+    }
+
+    static WavHeader parse(MemorySegment file) throws FalconInvalidArgumentException {
+        long fileSize = file.byteSize();
+        if (fileSize < RIFF_HEADER_SIZE ||
+                readInt(file, 0) != RIFF ||
+                readInt(file, 8) != WAVE) {
+            throw new FalconInvalidArgumentException("File is not a RIFF/WAVE file.");
+        }
+
+        int audioFormat = -1;
+        int numChannels = 0;
+        int sampleRate = 0;
+        int bitsPerSample = 0;
+
+        long offset = RIFF_HEADER_SIZE;
+        while (offset + CHUNK_HEADER_SIZE <= fileSize) {
+            int chunkId = readInt(file, offset);
+            long chunkSize = Integer.toUnsignedLong(readInt(file, offset + 4));
+            long chunkStart = offset + CHUNK_HEADER_SIZE;
+
+            if (chunkId == FMT) {
+                if (chunkSize < 16 || chunkStart + 16 > fileSize) {
+                    throw new FalconInvalidArgumentException("WAV file has a truncated `fmt ` chunk.");
+                }
+                audioFormat = Short.toUnsignedInt(readShort(file, chunkStart));
+                if (audioFormat == WAVE_FORMAT_EXTENSIBLE) {
+                    audioFormat = readSubFormat(file, chunkStart, chunkSize);
+                }
+                numChannels = Short.toUnsignedInt(readShort(file, chunkStart + 2));
+                sampleRate = readInt(file, chunkStart + 4);
+                bitsPerSample = Short.toUnsignedInt(readShort(file, chunkStart + 14));
+            } else if (chunkId == DATA) {
+                if (audioFormat == -1) {
+                    throw new FalconInvalidArgumentException("WAV file has no `fmt ` chunk before its `data` chunk.");
+                }
+                if (audioFormat != WAVE_FORMAT_PCM) {
+                    throw new FalconInvalidArgumentException(
+                            String.format(
+                                    "WAV file has unsupported audio format %d. Expected linear PCM.",
+                                    audioFormat));
+                }
+                // Writers that stream to disk may leave the size unset; use whatever follows the header.
+                long dataSize = Math.min(chunkSize, fileSize - chunkStart);
+                return new WavHeader(numChannels, sampleRate, bitsPerSample, chunkStart, dataSize);
+            }
+
+            offset = chunkStart + chunkSize + (chunkSize & 1);
+        }
+
+        throw new FalconInvalidArgumentException("WAV file has no `data` chunk.");
+    }
+
+    /**
+     * Reads the format code from the SubFormat GUID of a WAVE_FORMAT_EXTENSIBLE `fmt ` chunk.
+     */
+    private static int readSubFormat(
+            MemorySegment file,
+            long chunkStart,
+            long chunkSize) throws FalconInvalidArgumentException {
+        if (chunkSize < EXTENSIBLE_FMT_SIZE || chunkStart + EXTENSIBLE_FMT_SIZE > file.byteSize()) {
+            throw new FalconInvalidArgumentException("WAV file has a truncated extensible `fmt ` chunk.");
+        }
+
+        long guidStart = chunkStart + SUB_FORMAT_OFFSET;
+        for (int i = 0; i < SUB_FORMAT_GUID_SUFFIX.length; i++) {
+            if (file.get(ValueLayout.JAVA_BYTE, guidStart + 2 + i) != SUB_FORMAT_GUID_SUFFIX[i]) {
+                throw new FalconInvalidArgumentException(
+                        "WAV file has an unsupported extensible sub-format. Expected linear PCM.");
+            }
+        }
+        return Short.toUnsignedInt(readShort(file, guidStart));
+    }
+
+    private static int readInt(MemorySegment file, long offset) {
+        return file.get(JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+    }
+
+    private static short readShort(MemorySegment file, long offset) {
+        return file.get(JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+    }
+}
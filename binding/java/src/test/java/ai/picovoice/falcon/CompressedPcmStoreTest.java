@@ -0,0 +1,104 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CompressedPcmStoreTest {
+
+    private static short[] readAll(CompressedPcmStore store) throws FalconException {
+        short[] pcm = new short[(int) store.getNumSamples()];
+        assertEquals(pcm.length, store.read(0, pcm, 0, pcm.length));
+        return pcm;
+    }
+
+    @Test
+    void testLosslessRoundTrip() throws Exception {
+        Random random = new Random(42);
+        short[] pcm = new short[10 * CompressedPcmStore.BLOCK_SAMPLES + 37];
+        for (int i = 0; i < pcm.length; i++) {
+            pcm[i] = (short) random.nextInt(1 << 16);
+        }
+        // Largest possible differences.
+        for (int i = 0; i < CompressedPcmStore.BLOCK_SAMPLES; i++) {
+            pcm[i] = (i % 2 == 0) ? Short.MIN_VALUE : Short.MAX_VALUE;
+        }
+
+        CompressedPcmStore store = new CompressedPcmStore.Builder().build();
+        for (int offset = 0; offset < pcm.length; offset += 500) {
+            store.append(pcm, offset, Math.min(500, pcm.length - offset));
+        }
+
+        assertEquals(pcm.length, store.getNumSamples());
+        assertArrayEquals(pcm, readAll(store));
+
+        short[] range = new short[1000];
+        assertEquals(1000, store.read(300, range, 0, 1000));
+        assertArrayEquals(Arrays.copyOfRange(pcm, 300, 1300), range);
+        assertEquals(37, store.read(pcm.length - 37, range, 0, 1000));
+        assertThrows(FalconInvalidArgumentException.class, () -> store.read(-1, range, 0, 1));
+    }
+
+    @Test
+    void testQuantization() throws Exception {
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        CompressedPcmStore lossless = new CompressedPcmStore.Builder().build();
+        CompressedPcmStore quantized = new CompressedPcmStore.Builder()
+                .setQuantizationBits(4)
+                .build();
+        lossless.append(pcm);
+        quantized.append(pcm);
+
+        assertArrayEquals(pcm, readAll(lossless));
+        short[] decoded = readAll(quantized);
+        for (int i = 0; i < pcm.length; i++) {
+            assertTrue(Math.abs(pcm[i] - decoded[i]) <= 8);
+        }
+        assertTrue(lossless.getCompressionRatio() > 1.3, String.valueOf(lossless.getCompressionRatio()));
+        assertTrue(quantized.getCompressionRatio() > 2, String.valueOf(quantized.getCompressionRatio()));
+    }
+
+    @Test
+    void testSilenceCompresses() throws Exception {
+        CompressedPcmStore store = new CompressedPcmStore.Builder().build();
+        short[] frame = new short[512];
+        for (int i = 0; i < 1000; i++) {
+            store.append(frame);
+        }
+        assertTrue(store.getCompressionRatio() > 20, String.valueOf(store.getCompressionRatio()));
+
+        store.clear();
+        assertEquals(0, store.getNumSamples());
+    }
+
+    @Test
+    void testProcess() throws Exception {
+        Falcon falcon = FalconTest.falconBuilder().build();
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        CompressedPcmStore store = new CompressedPcmStore.Builder()
+                .setSampleRate(falcon.getSampleRate())
+                .build();
+        store.append(pcm);
+
+        FalconTest.validateMetadata(store.process(falcon), falcon.process(pcm));
+        falcon.delete();
+    }
+}
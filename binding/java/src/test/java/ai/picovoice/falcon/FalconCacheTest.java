@@ -0,0 +1,87 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FalconCacheTest {
+
+    private Falcon.Builder falconBuilder;
+
+    @BeforeEach
+    void setUp() {
+        falconBuilder = FalconTest.falconBuilder()
+                .setDevice("cpu:1")
+                .setUseCache(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FalconCache.setIdleTimeoutMs(60000);
+        FalconCache.clear();
+    }
+
+    @Test
+    void testHitAfterDelete() throws Exception {
+        FalconCache.clear();
+        FalconCache.Stats before = FalconCache.getStats();
+
+        Falcon first = falconBuilder.build();
+        Falcon second = falconBuilder.build();
+        assertEquals(2, FalconCache.getStats().getNumInUse());
+        first.delete();
+        second.delete();
+        assertThrows(FalconInvalidStateException.class, () -> first.process(new short[512]));
+
+        String audioPath = FalconTest.getAudioFilepath("test.wav").toString();
+        Falcon uncached = FalconTest.falconBuilder()
+                .setDevice("cpu:1")
+                .build();
+        FalconSegment[] expected = uncached.processFile(audioPath);
+        uncached.delete();
+
+        Falcon third = falconBuilder.build();
+        FalconTest.validateMetadata(third.processFile(audioPath), expected);
+
+        FalconCache.Stats stats = FalconCache.getStats();
+        assertEquals(2, stats.getNumMisses() - before.getNumMisses());
+        assertEquals(1, stats.getNumHits() - before.getNumHits());
+        assertEquals(1, stats.getNumIdle());
+        assertEquals(1, stats.getNumInUse());
+
+        third.delete();
+        FalconCache.clear();
+        assertEquals(0, FalconCache.getStats().getNumIdle());
+    }
+
+    @Test
+    void testIdleEviction() throws Exception {
+        FalconCache.setIdleTimeoutMs(100);
+        long evictions = FalconCache.getStats().getNumEvictions();
+
+        falconBuilder.build().delete();
+        assertEquals(1, FalconCache.getStats().getNumIdle());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (FalconCache.getStats().getNumIdle() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, FalconCache.getStats().getNumIdle());
+        assertEquals(1, FalconCache.getStats().getNumEvictions() - evictions);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+public class FalconChannelDiarizerTest {
+
+    private static short[] interleave(short[] left, short[] right) {
+        short[] stereo = new short[2 * left.length];
+        for (int i = 0; i < left.length; i++) {
+            stereo[2 * i] = left[i];
+            stereo[2 * i + 1] = right[i];
+        }
+        return stereo;
+    }
+
+    private static void writeWav(Path path, short[] pcm, int sampleRate, int numChannels) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(44 + pcm.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x46464952).putInt(36 + pcm.length * 2).putInt(0x45564157);
+        buffer.putInt(0x20746d66).putInt(16).putShort((short) 1).putShort((short) numChannels);
+        buffer.putInt(sampleRate).putInt(sampleRate * numChannels * 2).putShort((short) (numChannels * 2));
+        buffer.putShort((short) 16);
+        buffer.putInt(0x61746164).putInt(pcm.length * 2);
+        buffer.asShortBuffer().put(pcm);
+        Files.write(path, buffer.array());
+    }
+
+    @Test
+    void testInitFailWithoutFalconBuilder() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconChannelDiarizer.Builder()
+                .build());
+    }
+
+    @Test
+    void testInitFailWithInvalidNumChannels() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconChannelDiarizer.Builder()
+                .setFalconBuilder(new Falcon.Builder())
+                .setNumChannels(0)
+                .build());
+    }
+
+    @Test
+    void testProcess() throws Exception {
+        Falcon falcon = FalconTest.falconBuilder().build();
+        short[] speech = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        FalconSegment[] expected = falcon.process(speech);
+        falcon.delete();
+
+        FalconChannelDiarizer diarizer = new FalconChannelDiarizer.Builder()
+                .setFalconBuilder(FalconTest.falconBuilder())
+                .build();
+        assertEquals(2, diarizer.getNumChannels());
+
+        // Speech on the left channel only.
+        FalconChannelSegment[] segments = diarizer.process(interleave(speech, new short[speech.length]), 16000);
+        assertEquals(expected.length, segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            assertEquals(0, segments[i].getChannel());
+            assertEquals(expected[i].getStartSec(), segments[i].getStartSec(), 0.1);
+            assertEquals(expected[i].getEndSec(), segments[i].getEndSec(), 0.1);
+            assertEquals(expected[i].getSpeakerTag(), segments[i].getChannelSpeakerTag());
+        }
+
+        // The same speech on both channels gives each channel its own speakers.
+        segments = diarizer.process(interleave(speech, speech), 16000);
+        assertEquals(2 * expected.length, segments.length);
+        Set<Integer> leftSpeakers = new HashSet<>();
+        Set<Integer> rightSpeakers = new HashSet<>();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                assertTrue(segments[i - 1].getStartSec() <= segments[i].getStartSec());
+            }
+            (segments[i].getChannel() == 0 ? leftSpeakers : rightSpeakers).add(segments[i].getSpeakerTag());
+        }
+        assertTrue(leftSpeakers.stream().noneMatch(rightSpeakers::contains));
+
+        assertThrows(FalconInvalidArgumentException.class, () -> diarizer.process(new short[3], 16000));
+        diarizer.delete();
+        assertThrows(FalconInvalidStateException.class, () -> diarizer.process(new short[2], 16000));
+    }
+
+    @Test
+    void testProcessWav() throws Exception {
+        short[] speech = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        FalconChannelDiarizer diarizer = new FalconChannelDiarizer.Builder()
+                .setFalconBuilder(FalconTest.falconBuilder())
+                .build();
+
+        Path wav = Files.createTempFile("falcon-stereo", ".wav");
+        try {
+            writeWav(wav, interleave(speech, speech), 16000, 2);
+            FalconChannelSegment[] segments = diarizer.processWav(wav);
+            assertTrue(segments.length > 0);
+            assertEquals(segments.length, diarizer.process(interleave(speech, speech), 16000).length);
+            assertNotEquals(segments[0].getChannel(), segments[1].getChannel());
+
+            assertThrows(
+                    FalconInvalidArgumentException.class,
+                    () -> diarizer.processWav(FalconTest.getAudioFilepath("test.wav")));
+
+            writeWav(wav, new short[4], 0, 2);
+            assertThrows(FalconInvalidArgumentException.class, () -> diarizer.processWav(wav));
+        } finally {
+            Files.delete(wav);
+            diarizer.delete();
+        }
+    }
+}
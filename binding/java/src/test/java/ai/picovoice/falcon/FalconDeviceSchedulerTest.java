@@ -0,0 +1,74 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class FalconDeviceSchedulerTest {
+
+    @Test
+    void testInitFailWithoutFalconBuilder() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconDeviceScheduler.Builder()
+                .setDevices("cpu:1")
+                .build());
+    }
+
+    @Test
+    void testInitFailWithNoDevices() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconDeviceScheduler.Builder()
+                .setFalconBuilder(new Falcon.Builder())
+                .setDevices()
+                .build());
+    }
+
+    @Test
+    void testSpreadsJobsAcrossDevices() throws Exception {
+        FalconDeviceScheduler scheduler = new FalconDeviceScheduler.Builder()
+                .setFalconBuilder(FalconTest.falconBuilder())
+                .setDevices("cpu:1", "cpu:1")
+                .build();
+
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        String audioPath = FalconTest.getAudioFilepath("test.wav").toString();
+        FalconSegment[] expected = scheduler.process(pcm).get();
+
+        List<CompletableFuture<FalconSegment[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(scheduler.process(pcm));
+            futures.add(scheduler.processFile(audioPath));
+        }
+        for (CompletableFuture<FalconSegment[]> future : futures) {
+            FalconTest.validateMetadata(future.get(), expected);
+        }
+
+        long numJobs = 0;
+        for (FalconDeviceScheduler.DeviceStats stats : scheduler.getStats()) {
+            assertTrue(stats.getNumJobs() > 0, stats.toString());
+            assertTrue(stats.getRealTimeFactor() > 0, stats.toString());
+            numJobs += stats.getNumJobs();
+        }
+        assertEquals(9, numJobs);
+        assertEquals(0, scheduler.getQueueSize());
+
+        scheduler.delete();
+        assertThrows(FalconInvalidStateException.class, () -> scheduler.process(pcm));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FalconLatencyHistogramTest {
+
+    @Test
+    void testEmptySnapshot() {
+        FalconLatencyHistogram.Snapshot snapshot = new FalconLatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getPercentile(99));
+    }
+
+    @Test
+    void testBucketsCoverAllValues() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123456789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = FalconLatencyHistogram.bucketIndex(value);
+            assertTrue(FalconLatencyHistogram.bucketLowerBound(index) <= value);
+            assertTrue(FalconLatencyHistogram.bucketUpperBound(index) >= value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        FalconLatencyHistogram histogram = new FalconLatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000000L);
+        }
+
+        FalconLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000L, snapshot.getMin());
+        assertEquals(1000000000L, snapshot.getMax());
+        assertEquals(500500000.0, snapshot.getMean(), 1.0);
+        assertEquals(500000000.0, snapshot.getPercentile(50), 500000000.0 * 0.07);
+        assertEquals(990000000.0, snapshot.getPercentile(99), 990000000.0 * 0.07);
+        assertEquals(1000000L, snapshot.getPercentile(0));
+        assertEquals(1000000000L, snapshot.getPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+    }
+
+    @Test
+    void testConcurrentRecord() throws InterruptedException {
+        FalconLatencyHistogram histogram = new FalconLatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        FalconLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(40000, snapshot.getCount());
+        assertEquals(9999, snapshot.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+    }
+}
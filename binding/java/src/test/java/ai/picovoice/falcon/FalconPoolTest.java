@@ -0,0 +1,152 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class FalconPoolTest {
+
+    private static Falcon.Builder falconBuilder() {
+        return FalconTest.falconBuilder().setDevice("cpu:1");
+    }
+
+    @Test
+    void testInitFailWithInvalidPoolSize() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconPool.Builder()
+                .setFalconBuilder(new Falcon.Builder())
+                .setPoolSize(0)
+                .build());
+    }
+
+    @Test
+    void testConcurrentProcessFile() throws Exception {
+        FalconPool pool = new FalconPool.Builder()
+                .setFalconBuilder(falconBuilder())
+                .setPoolSize(2)
+                .build();
+
+        String audioPath = FalconTest.getAudioFilepath("test.wav").toString();
+        FalconSegment[] expected = pool.processFile(audioPath).get();
+
+        List<Future<FalconSegment[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(pool.processFile(audioPath));
+        }
+        for (Future<FalconSegment[]> future : futures) {
+            FalconTest.validateMetadata(future.get(), expected);
+        }
+        assertEquals(2, pool.getNumInstances());
+
+        pool.delete();
+        assertEquals(0, pool.getNumInstances());
+        assertThrows(FalconInvalidStateException.class, () -> pool.processFile(audioPath));
+    }
+
+    @Test
+    void testBorrowAndEviction() throws Exception {
+        FalconPool pool = new FalconPool.Builder()
+                .setFalconBuilder(falconBuilder())
+                .setPoolSize(2)
+                .setIdleTimeoutMs(100)
+                .build();
+
+        Falcon first = pool.borrow(0);
+        Falcon second = pool.borrow(0);
+        assertNotSame(first, second);
+        assertThrows(FalconInvalidStateException.class, () -> pool.borrow(50));
+        pool.giveBack(first);
+        pool.giveBack(second);
+
+        // Instances the pool did not lend out, or already got back, are rejected.
+        Falcon foreign = falconBuilder().build();
+        assertThrows(IllegalArgumentException.class, () -> pool.giveBack(foreign));
+        foreign.delete();
+        assertThrows(IllegalArgumentException.class, () -> pool.giveBack(first));
+        assertEquals(2, pool.getNumInstances());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getNumInstances() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pool.getNumInstances());
+
+        Falcon recreated = pool.borrow(0);
+        assertTrue(recreated.getSampleRate() > 0);
+        pool.giveBack(recreated);
+
+        // A deleted instance is dropped rather than handed out again.
+        Falcon deleted = pool.borrow(0);
+        deleted.delete();
+        pool.giveBack(deleted);
+        assertEquals(0, pool.getNumInstances());
+        Falcon replacement = pool.borrow(0);
+        assertNotSame(deleted, replacement);
+        pool.giveBack(replacement);
+        pool.delete();
+    }
+
+    @Test
+    void testDeleteWithQueuedTasks() throws Exception {
+        FalconPool pool = new FalconPool.Builder()
+                .setFalconBuilder(falconBuilder())
+                .setPoolSize(1)
+                .build();
+
+        String audioPath = FalconTest.getAudioFilepath("test.wav").toString();
+        List<Future<FalconSegment[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pool.processFile(audioPath));
+        }
+        pool.delete();
+
+        // Tasks queued before delete still run to completion.
+        for (Future<FalconSegment[]> future : futures) {
+            assertTrue(future.get().length > 0);
+        }
+        assertEquals(0, pool.getNumInstances());
+    }
+
+    @Test
+    void testDeleteWithOutstandingBorrower() throws Exception {
+        FalconPool pool = new FalconPool.Builder()
+                .setFalconBuilder(falconBuilder())
+                .setPoolSize(1)
+                .build();
+
+        Falcon borrowed = pool.borrow(0);
+        Future<FalconSegment[]> queued = pool.processFile(FalconTest.getAudioFilepath("test.wav").toString());
+        CompletableFuture<Void> delete = CompletableFuture.runAsync(pool::delete);
+
+        // The queued task is waiting for the borrowed instance, so delete cannot finish yet.
+        Thread.sleep(200);
+        assertFalse(delete.isDone());
+        assertThrows(FalconInvalidStateException.class, () -> pool.borrow(0));
+
+        pool.giveBack(borrowed);
+        delete.get(1, TimeUnit.MINUTES);
+        assertTrue(queued.get().length > 0);
+        assertEquals(0, pool.getNumInstances());
+    }
+}
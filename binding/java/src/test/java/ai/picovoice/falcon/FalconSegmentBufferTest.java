@@ -0,0 +1,71 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class FalconSegmentBufferTest {
+
+    @Test
+    void testGrowKeepsSegments() {
+        FalconSegmentBuffer buffer = new FalconSegmentBuffer(1);
+        buffer.reset(1);
+        buffer.set(0, 1.0f, 2.0f, 3);
+
+        buffer.ensureCapacity(10);
+        assertTrue(buffer.getCapacity() >= 10);
+        assertEquals(1, buffer.getNumSegments());
+        assertEquals(1.0f, buffer.getStartSec(0));
+        assertEquals(2.0f, buffer.getEndSec(0));
+        assertEquals(3, buffer.getSpeakerTag(0));
+    }
+
+    @Test
+    void testReuseDoesNotReallocate() {
+        FalconSegmentBuffer buffer = new FalconSegmentBuffer(8);
+        float[] startSec = buffer.getStartSecArray();
+        for (int i = 0; i < 4; i++) {
+            buffer.reset(8);
+            buffer.clear();
+        }
+        assertSame(startSec, buffer.getStartSecArray());
+        assertEquals(0, buffer.getNumSegments());
+    }
+
+    @Test
+    void testToArray() {
+        FalconSegmentBuffer buffer = new FalconSegmentBuffer();
+        buffer.reset(2);
+        buffer.set(0, 0.5f, 1.5f, 1);
+        buffer.set(1, 2.0f, 4.0f, 2);
+
+        FalconSegment[] segments = buffer.toArray();
+        assertEquals(2, segments.length);
+        assertEquals(2.0f, segments[1].getStartSec());
+        assertEquals(4.0f, segments[1].getEndSec());
+        assertEquals(2, segments[1].getSpeakerTag());
+    }
+
+    @Test
+    void testOutOfBounds() {
+        FalconSegmentBuffer buffer = new FalconSegmentBuffer(4);
+        buffer.reset(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getStartSec(1));
+        assertThrows(IllegalArgumentException.class, () -> new FalconSegmentBuffer(-1));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FalconStreamTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int FRAME_LENGTH = 512;
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    void testInitFailWithInvalidHop() {
+        assertThrows(FalconInvalidArgumentException.class, () -> new FalconStream.Builder()
+                .setFalconBuilder(new Falcon.Builder())
+                .setWindowSec(5.0f)
+                .setHopSec(5.0f)
+                .setSegmentListener(segments -> { })
+                .build());
+    }
+
+    @Test
+    void testStreamingDiarization() throws Exception {
+        Falcon.Builder falconBuilder = FalconTest.falconBuilder();
+
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        List<FalconSegment> segments = Collections.synchronizedList(new ArrayList<>());
+        FalconStream stream = new FalconStream.Builder()
+                .setFalconBuilder(falconBuilder)
+                .setWindowSec(10.0f)
+                .setHopSec(5.0f)
+                .setSegmentListener(result -> segments.addAll(Arrays.asList(result)))
+                .build();
+
+        for (int i = 0; i < pcm.length; i += FRAME_LENGTH) {
+            stream.process(Arrays.copyOfRange(pcm, i, Math.min(i + FRAME_LENGTH, pcm.length)));
+        }
+        stream.flush();
+        assertThrows(FalconInvalidStateException.class, () -> stream.process(new short[FRAME_LENGTH]));
+        stream.delete();
+
+        Falcon falcon = falconBuilder.build();
+        FalconSegment[] expected = falcon.process(pcm);
+        float audioSec = pcm.length / (float) falcon.getSampleRate();
+        falcon.delete();
+
+        Set<Integer> speakers = new HashSet<>();
+        Set<Integer> expectedSpeakers = new HashSet<>();
+        for (FalconSegment segment : expected) {
+            expectedSpeakers.add(segment.getSpeakerTag());
+        }
+        float prevEndSec = 0;
+        for (FalconSegment segment : segments) {
+            assertTrue(segment.getStartSec() >= prevEndSec - 0.01f);
+            assertTrue(segment.getEndSec() > segment.getStartSec());
+            assertTrue(segment.getEndSec() <= audioSec + 0.01f);
+            prevEndSec = segment.getEndSec();
+            speakers.add(segment.getSpeakerTag());
+        }
+        assertEquals(expectedSpeakers.size(), speakers.size());
+    }
+
+    @Test
+    void testProcessBlocksInsteadOfOverflowing() throws Exception {
+        Falcon.Builder falconBuilder = FalconTest.falconBuilder();
+
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        List<FalconSegment> segments = Collections.synchronizedList(new ArrayList<>());
+        FalconStream stream = new FalconStream.Builder()
+                .setFalconBuilder(falconBuilder)
+                .setWindowSec(2.0f)
+                .setHopSec(1.0f)
+                .setSegmentListener(result -> segments.addAll(Arrays.asList(result)))
+                .build();
+
+        try {
+            // The whole file is several times longer than the stream's buffer.
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                stream.process(pcm);
+                stream.flush();
+            });
+        } finally {
+            stream.delete();
+        }
+
+        assertTrue(segments.size() > 0);
+        float audioSec = pcm.length / (float) SAMPLE_RATE;
+        assertEquals(audioSec, segments.get(segments.size() - 1).getEndSec(), 1.0f);
+    }
+
+    @Test
+    void testFlushAfterListenerThrows() throws Exception {
+        Falcon.Builder falconBuilder = FalconTest.falconBuilder();
+
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        AtomicReference<FalconException> reported = new AtomicReference<>();
+        FalconStream stream = new FalconStream.Builder()
+                .setFalconBuilder(falconBuilder)
+                .setWindowSec(10.0f)
+                .setHopSec(5.0f)
+                .setSegmentListener(result -> {
+                    throw new IllegalStateException("listener failure");
+                })
+                .setErrorListener(reported::set)
+                .build();
+
+        try {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                FalconException e = assertThrows(FalconException.class, () -> {
+                    for (int i = 0; i < pcm.length; i += FRAME_LENGTH) {
+                        stream.process(Arrays.copyOfRange(pcm, i, Math.min(i + FRAME_LENGTH, pcm.length)));
+                    }
+                    stream.flush();
+                });
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            });
+        } finally {
+            stream.delete();
+        }
+        assertNotNull(reported.get());
+    }
+
+    @Test
+    void testDeleteDuringFlush() throws Exception {
+        Falcon.Builder falconBuilder = FalconTest.falconBuilder();
+
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        CountDownLatch isDelivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The window is longer than the audio, so segments are only delivered by flush.
+        FalconStream stream = new FalconStream.Builder()
+                .setFalconBuilder(falconBuilder)
+                .setWindowSec(60.0f)
+                .setHopSec(30.0f)
+                .setSegmentListener(result -> {
+                    isDelivering.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .build();
+        stream.process(pcm);
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(() -> {
+            try {
+                stream.flush();
+            } catch (FalconException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        CompletableFuture<Void> delete = null;
+        try {
+            isDelivering.await();
+            delete = CompletableFuture.runAsync(stream::delete);
+
+            ExecutionException e = assertThrows(
+                    ExecutionException.class,
+                    () -> flush.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            assertInstanceOf(FalconInvalidStateException.class, e.getCause().getCause());
+        } finally {
+            release.countDown();
+            if (delete != null) {
+                delete.get();
+            } else {
+                stream.delete();
+            }
+        }
+    }
+}
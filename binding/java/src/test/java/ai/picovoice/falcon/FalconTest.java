@@ -0,0 +1,363 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+public class FalconTest {
+
+    private static final String ACCESS_KEY = System.getProperty("pvTestingAccessKey", "");
+    private static final String DEVICE = System.getProperty("pvTestingDevice", "best");
+    private static final Path RESOURCES_PATH =
+            Paths.get(System.getProperty("pvTestingResourcesPath", "../../resources"));
+
+    private static final int WAV_HEADER_SAMPLES = 22;
+
+    private Falcon falcon;
+
+    @BeforeEach
+    void setUp() throws FalconException {
+        falcon = falconBuilder().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (falcon != null) {
+            falcon.delete();
+        }
+    }
+
+    /**
+     * Builder configured with the testing AccessKey and device. Skips the calling test if no
+     * AccessKey is set.
+     */
+    static Falcon.Builder falconBuilder() {
+        assumeFalse(ACCESS_KEY.equals(""), "pvTestingAccessKey is not set.");
+        return new Falcon.Builder()
+                .setAccessKey(ACCESS_KEY)
+                .setDevice(DEVICE);
+    }
+
+    static Path getAudioFilepath(String audioFilename) {
+        return RESOURCES_PATH.resolve("audio_samples").resolve(audioFilename);
+    }
+
+    static short[] readAudioFile(Path audioFile) throws IOException {
+        short[] pcm = readRawAudioFile(audioFile);
+        return Arrays.copyOfRange(pcm, WAV_HEADER_SAMPLES, pcm.length);
+    }
+
+    static short[] readRawAudioFile(Path audioFile) throws IOException {
+        byte[] rawData = Files.readAllBytes(audioFile);
+
+        short[] pcm = new short[rawData.length / 2];
+        ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(pcm);
+        return pcm;
+    }
+
+    static void validateMetadata(FalconSegment[] segments, FalconSegment[] expectedSegments) {
+        assertEquals(expectedSegments.length, segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            assertEquals(expectedSegments[i].getStartSec(), segments[i].getStartSec(), 0.1);
+            assertEquals(expectedSegments[i].getEndSec(), segments[i].getEndSec(), 0.1);
+            assertEquals(expectedSegments[i].getSpeakerTag(), segments[i].getSpeakerTag());
+        }
+    }
+
+    static Stream<Arguments> diarizationTestProvider() throws IOException {
+        String testDataJsonString = new String(
+                Files.readAllBytes(RESOURCES_PATH.resolve(".test").resolve("test_data.json")),
+                StandardCharsets.UTF_8);
+        JsonArray diarizationTests = JsonParser.parseString(testDataJsonString)
+                .getAsJsonObject()
+                .getAsJsonObject("tests")
+                .getAsJsonArray("diarization_tests");
+
+        List<Arguments> arguments = new ArrayList<>();
+        for (int i = 0; i < diarizationTests.size(); i++) {
+            JsonObject testData = diarizationTests.get(i).getAsJsonObject();
+            JsonArray segments = testData.getAsJsonArray("segments");
+
+            FalconSegment[] expectedSegments = new FalconSegment[segments.size()];
+            for (int j = 0; j < segments.size(); j++) {
+                JsonObject segmentObject = segments.get(j).getAsJsonObject();
+                expectedSegments[j] = new FalconSegment(
+                        segmentObject.get("start_sec").getAsFloat(),
+                        segmentObject.get("end_sec").getAsFloat(),
+                        segmentObject.get("speaker_tag").getAsInt());
+            }
+            arguments.add(Arguments.of(testData.get("audio_file").getAsString(), expectedSegments));
+        }
+        return arguments.stream();
+    }
+
+    @Test
+    void testInitFailWithInvalidAccessKey() {
+        assertThrows(FalconException.class, () -> new Falcon.Builder()
+                .setAccessKey("")
+                .build());
+    }
+
+    @Test
+    void testInitFailWithInvalidModelPath() {
+        assertThrows(FalconException.class, () -> new Falcon.Builder()
+                .setAccessKey(ACCESS_KEY)
+                .setModelPath(RESOURCES_PATH.resolve("bad_path/bad_path.pv").toString())
+                .build());
+    }
+
+    @Test
+    void testInitFailWithInvalidDevice() {
+        assertThrows(FalconException.class, () -> new Falcon.Builder()
+                .setAccessKey(ACCESS_KEY)
+                .setDevice("invalid:9")
+                .build());
+    }
+
+    @Test
+    void testErrorStack() {
+        FalconException e = assertThrows(FalconException.class, () -> new Falcon.Builder()
+                .setAccessKey("invalid")
+                .build());
+        String[] error = e.getMessageStack();
+        assertTrue(0 < error.length);
+        assertTrue(error.length <= 8);
+    }
+
+    @Test
+    void testVersion() {
+        assertTrue(falcon.getVersion() != null && !falcon.getVersion().equals(""));
+    }
+
+    @Test
+    void testSampleRate() {
+        assertTrue(falcon.getSampleRate() > 0);
+    }
+
+    @Test
+    void testGetAvailableDevices() throws FalconException {
+        String[] availableDevices = Falcon.getAvailableDevices();
+        assertTrue(availableDevices.length > 0);
+        for (String d : availableDevices) {
+            assertTrue(d != null && d.length() > 0);
+        }
+    }
+
+    @Test
+    void testProcessAfterDelete() {
+        falcon.delete();
+        assertThrows(FalconInvalidStateException.class, () -> falcon.process(new short[512]));
+    }
+
+    @Test
+    void testProcessAsyncAfterDelete() {
+        falcon.delete();
+        ExecutionException e = assertThrows(
+                ExecutionException.class,
+                () -> falcon.processAsync(new short[512]).get());
+        assertInstanceOf(FalconInvalidStateException.class, e.getCause());
+    }
+
+    @Test
+    void testProcessAsyncCancel() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+
+        String path = getAudioFilepath("test.wav").toString();
+        CompletableFuture<FalconSegment[]> cancelled = falcon.processFileAsync(path, executor);
+        CompletableFuture<FalconSegment[]> completed = falcon.processFileAsync(path, executor);
+        assertTrue(cancelled.cancel(true));
+        release.countDown();
+
+        assertTrue(completed.get().length > 0);
+        assertTrue(cancelled.isCancelled());
+        executor.shutdown();
+    }
+
+    @Test
+    void testMetricsListener() throws Exception {
+        List<FalconMetricsEvent> events = new ArrayList<>();
+        Falcon instrumented = new Falcon.Builder()
+                .setAccessKey(ACCESS_KEY)
+                .setDevice(DEVICE)
+                .setMetricsListener(events::add)
+                .build();
+        try {
+            short[] pcm = readAudioFile(getAudioFilepath("test.wav"));
+            instrumented.process(pcm);
+            instrumented.processFile(getAudioFilepath("test.wav").toString());
+        } finally {
+            instrumented.delete();
+        }
+
+        assertEquals(3, events.size());
+        assertEquals(FalconMetricsEvent.Type.INIT, events.get(0).getType());
+        assertEquals(DEVICE, events.get(0).getDevice());
+        assertTrue(events.get(0).isSuccess());
+
+        FalconMetricsEvent process = events.get(1);
+        assertEquals(FalconMetricsEvent.Type.PROCESS, process.getType());
+        assertTrue(process.getWallTimeNs() > 0);
+        assertTrue(process.getAudioLengthSec() > 0);
+        assertTrue(process.getRealTimeFactor() > 0);
+        assertTrue(process.getNumSegments() > 0);
+
+        FalconMetricsEvent processFile = events.get(2);
+        assertEquals(FalconMetricsEvent.Type.PROCESS_FILE, processFile.getType());
+        assertEquals(Files.size(getAudioFilepath("test.wav")), processFile.getInputSizeBytes());
+        assertEquals(process.getAudioLengthSec(), processFile.getAudioLengthSec(), 1e-3);
+        assertTrue(processFile.getRealTimeFactor() > 0);
+        assertEquals(process.getNumSegments(), processFile.getNumSegments());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationAsync(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readAudioFile(getAudioFilepath(testAudioFile));
+        CompletableFuture<FalconSegment[]> fromPcm = falcon.processAsync(pcm);
+        CompletableFuture<FalconSegment[]> fromFile =
+                falcon.processFileAsync(getAudioFilepath(testAudioFile).toString());
+
+        validateMetadata(fromPcm.get(), expectedSegments);
+        validateMetadata(fromFile.get(), expectedSegments);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarization(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readAudioFile(getAudioFilepath(testAudioFile));
+        validateMetadata(falcon.process(pcm), expectedSegments);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationSlice(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readRawAudioFile(getAudioFilepath(testAudioFile));
+        validateMetadata(
+                falcon.process(pcm, WAV_HEADER_SAMPLES, pcm.length - WAV_HEADER_SAMPLES),
+                expectedSegments);
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> falcon.process(pcm, WAV_HEADER_SAMPLES, pcm.length));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationInterleaved(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readAudioFile(getAudioFilepath(testAudioFile));
+        PcmResampler upsampler = new PcmResampler(falcon.getSampleRate(), 48000, 1);
+        short[] upsampled;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment dst = arena.allocate(ValueLayout.JAVA_SHORT, upsampler.getOutputLength(pcm.length));
+            upsampler.resample(pcm, pcm.length, dst);
+            upsampled = dst.toArray(ValueLayout.JAVA_SHORT);
+        }
+        short[] stereo = new short[2 * upsampled.length];
+        for (int i = 0; i < upsampled.length; i++) {
+            stereo[2 * i] = upsampled[i];
+            stereo[2 * i + 1] = upsampled[i];
+        }
+
+        validateMetadata(falcon.processInterleaved(stereo, 48000, 2), expectedSegments);
+        validateMetadata(falcon.processInterleaved(pcm, falcon.getSampleRate(), 1), expectedSegments);
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> falcon.processInterleaved(new short[3], 48000, 2));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationDirectBuffer(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readAudioFile(getAudioFilepath(testAudioFile));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(pcm.length * 2).order(ByteOrder.nativeOrder());
+        buffer.asShortBuffer().put(pcm);
+
+        validateMetadata(falcon.process(buffer), expectedSegments);
+        validateMetadata(falcon.process(buffer.asShortBuffer()), expectedSegments);
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> falcon.process(buffer.duplicate().order(ByteOrder.BIG_ENDIAN == ByteOrder.nativeOrder() ?
+                        ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationIntoBuffer(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        short[] pcm = readAudioFile(getAudioFilepath(testAudioFile));
+        FalconSegmentBuffer segments = new FalconSegmentBuffer(1);
+
+        assertEquals(expectedSegments.length, falcon.processInto(pcm, segments));
+        validateMetadata(segments.toArray(), expectedSegments);
+
+        String path = getAudioFilepath(testAudioFile).toString();
+        assertEquals(expectedSegments.length, falcon.processFileInto(path, segments));
+        for (int i = 0; i < expectedSegments.length; i++) {
+            assertEquals(expectedSegments[i].getStartSec(), segments.getStartSec(i), 0.1);
+            assertEquals(expectedSegments[i].getEndSec(), segments.getEndSec(i), 0.1);
+            assertEquals(expectedSegments[i].getSpeakerTag(), segments.getSpeakerTag(i));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationWav(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        validateMetadata(falcon.processWav(getAudioFilepath(testAudioFile)), expectedSegments);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("diarizationTestProvider")
+    void testDiarizationFile(String testAudioFile, FalconSegment[] expectedSegments) throws Exception {
+        validateMetadata(falcon.processFile(getAudioFilepath(testAudioFile).toString()), expectedSegments);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class PcmRecorderBufferTest {
+
+    private static final int FRAME_LENGTH = 512;
+
+    private static short[] ramp(int numSamples) {
+        short[] pcm = new short[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            pcm[i] = (short) (i * 7);
+        }
+        return pcm;
+    }
+
+    private static void appendFrames(PcmRecorderBuffer buffer, short[] pcm) throws FalconException {
+        for (int offset = 0; offset < pcm.length; offset += FRAME_LENGTH) {
+            buffer.append(pcm, offset, Math.min(FRAME_LENGTH, pcm.length - offset));
+        }
+    }
+
+    @Test
+    void testInMemory() throws Exception {
+        PcmRecorderBuffer buffer = new PcmRecorderBuffer.Builder().build();
+        short[] pcm = ramp(3 * PcmRecorderBuffer.CHUNK_SAMPLES + 100);
+        appendFrames(buffer, pcm);
+
+        assertEquals(pcm.length, buffer.getNumSamples());
+        assertFalse(buffer.isSpilled());
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = buffer.toMemorySegment(arena);
+            assertArrayEquals(pcm, segment.toArray(ValueLayout.JAVA_SHORT));
+        }
+
+        buffer.clear();
+        assertEquals(0, buffer.getNumSamples());
+        buffer.delete();
+        assertThrows(FalconInvalidStateException.class, () -> buffer.append(pcm));
+    }
+
+    @Test
+    void testSpill() throws Exception {
+        PcmRecorderBuffer buffer = new PcmRecorderBuffer.Builder()
+                .setSpillThresholdSec(1)
+                .build();
+        short[] pcm = ramp(40000);
+        appendFrames(buffer, pcm);
+
+        assertTrue(buffer.isSpilled());
+        Path spillPath = buffer.getSpillPath();
+        buffer.finishSpillFile();
+
+        short[] written = FalconTest.readRawAudioFile(spillPath);
+        assertEquals(22 + pcm.length, written.length);
+        assertArrayEquals(pcm, Arrays.copyOfRange(written, 22, written.length));
+        assertThrows(FalconInvalidStateException.class, () -> buffer.toMemorySegment(Arena.ofAuto()));
+
+        buffer.delete();
+        assertFalse(Files.exists(spillPath));
+    }
+
+    @Test
+    void testProcess() throws Exception {
+        Falcon falcon = FalconTest.falconBuilder().build();
+        short[] pcm = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        FalconSegment[] expected = falcon.process(pcm);
+
+        PcmRecorderBuffer inMemory = new PcmRecorderBuffer.Builder()
+                .setSampleRate(falcon.getSampleRate())
+                .build();
+        PcmRecorderBuffer spilled = new PcmRecorderBuffer.Builder()
+                .setSampleRate(falcon.getSampleRate())
+                .setSpillThresholdSec(5)
+                .build();
+        appendFrames(inMemory, pcm);
+        appendFrames(spilled, pcm);
+
+        assertTrue(spilled.isSpilled());
+        FalconTest.validateMetadata(inMemory.process(falcon), expected);
+        FalconTest.validateMetadata(spilled.process(falcon), expected);
+
+        inMemory.delete();
+        spilled.delete();
+        falcon.delete();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+public class PcmResamplerTest {
+
+    private static final int OUTPUT_RATE = 16000;
+
+    private static short[] sine(double frequency, int sampleRate, int numChannels, double lengthSec) {
+        short[] pcm = new short[(int) (lengthSec * sampleRate) * numChannels];
+        for (int i = 0; i < pcm.length; i++) {
+            pcm[i] = (short) Math.round(10000 * Math.sin(2 * Math.PI * frequency * (i / numChannels) / sampleRate));
+        }
+        return pcm;
+    }
+
+    private static short[] resample(short[] pcm, int sampleRate, int numChannels) {
+        PcmResampler resampler = new PcmResampler(sampleRate, OUTPUT_RATE, numChannels);
+        int numFrames = pcm.length / numChannels;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment dst = arena.allocate(ValueLayout.JAVA_SHORT, resampler.getOutputLength(numFrames));
+            resampler.resample(pcm, numFrames, dst);
+            return dst.toArray(ValueLayout.JAVA_SHORT);
+        }
+    }
+
+    /**
+     * Largest difference from the ideal sine, ignoring the filter's ramp at either end.
+     */
+    private static double maxError(short[] pcm, double frequency) {
+        int margin = OUTPUT_RATE / 100;
+        double maxError = 0;
+        for (int i = margin; i < pcm.length - margin; i++) {
+            double expected = 10000 * Math.sin(2 * Math.PI * frequency * i / OUTPUT_RATE);
+            maxError = Math.max(maxError, Math.abs(pcm[i] - expected));
+        }
+        return maxError;
+    }
+
+    /**
+     * Root mean square, ignoring the filter's ramp at either end.
+     */
+    private static double rms(short[] pcm) {
+        int margin = OUTPUT_RATE / 100;
+        double sum = 0;
+        for (int i = margin; i < pcm.length - margin; i++) {
+            sum += (double) pcm[i] * pcm[i];
+        }
+        return Math.sqrt(sum / (pcm.length - 2 * margin));
+    }
+
+    @Test
+    void testPassthrough() {
+        short[] pcm = sine(440, OUTPUT_RATE, 1, 1);
+        assertArrayEquals(pcm, resample(pcm, OUTPUT_RATE, 1));
+    }
+
+    @Test
+    void testDownmix() {
+        short[] stereo = new short[2 * 1000];
+        short[] expected = new short[1000];
+        for (int i = 0; i < expected.length; i++) {
+            stereo[2 * i] = (short) (2 * i);
+            stereo[2 * i + 1] = (short) (-i);
+            expected[i] = (short) Math.round(i / 2.0);
+        }
+        assertArrayEquals(expected, resample(stereo, OUTPUT_RATE, 2));
+    }
+
+    @Test
+    void testSelectChannel() {
+        short[] left = sine(440, 48000, 1, 1);
+        short[] right = sine(2000, 48000, 1, 1);
+        short[] stereo = new short[2 * left.length];
+        for (int i = 0; i < left.length; i++) {
+            stereo[2 * i] = left[i];
+            stereo[2 * i + 1] = right[i];
+        }
+
+        // Read from a little-endian byte view, as from a memory-mapped WAV file.
+        MemorySegment wav = MemorySegment.ofArray(new byte[stereo.length * 2]);
+        ValueLayout.OfShort layout = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+        MemorySegment.copy(stereo, 0, wav, layout, 0, stereo.length);
+
+        for (int channel = 0; channel < 2; channel++) {
+            PcmResampler resampler = new PcmResampler(48000, OUTPUT_RATE, 2, channel);
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment dst = arena.allocate(ValueLayout.JAVA_SHORT, resampler.getOutputLength(left.length));
+                resampler.resample(wav, layout, left.length, dst);
+                short[] resampled = dst.toArray(ValueLayout.JAVA_SHORT);
+                double error = maxError(resampled, channel == 0 ? 440 : 2000);
+                assertTrue(error < 50, String.format("channel %d: %f", channel, error));
+            }
+            assertTrue(resampler.matches(48000, 2, channel));
+        }
+    }
+
+    @Test
+    void testResampleSine() {
+        int[] sampleRates = {8000, 11025, 22050, 44100, 48000};
+        for (int sampleRate : sampleRates) {
+            short[] pcm = sine(1000, sampleRate, 2, 3);
+            short[] resampled = resample(pcm, sampleRate, 2);
+            assertEquals(3 * OUTPUT_RATE, resampled.length);
+            double error = maxError(resampled, 1000);
+            assertTrue(error < 50, String.format("%dHz: %f", sampleRate, error));
+        }
+    }
+
+    @Test
+    void testAntiAliasing() {
+        // 12 kHz is above the output Nyquist frequency and would alias to 4 kHz without filtering.
+        short[] resampled = resample(sine(12000, 48000, 1, 1), 48000, 1);
+        assertTrue(rms(resampled) < 10, String.valueOf(rms(resampled)));
+    }
+
+    @Test
+    void testReuse() {
+        PcmResampler resampler = new PcmResampler(48000, OUTPUT_RATE, 2);
+        short[] pcm = sine(300, 48000, 2, 2);
+        short[] first;
+        short[] second;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment dst = arena.allocate(ValueLayout.JAVA_SHORT, resampler.getOutputLength(pcm.length / 2));
+            resampler.resample(pcm, pcm.length / 2, dst);
+            first = dst.toArray(ValueLayout.JAVA_SHORT);
+            resampler.resample(pcm, pcm.length / 2, dst);
+            second = dst.toArray(ValueLayout.JAVA_SHORT);
+        }
+        assertArrayEquals(first, second);
+        assertTrue(resampler.matches(48000, 2, PcmResampler.ALL_CHANNELS));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class SilenceSkipperTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    /**
+     * Builds low-level noise with a loud tone over each `[start, end)` range in seconds.
+     */
+    private static short[] synthesize(double lengthSec, double... speechSec) {
+        Random random = new Random(7);
+        short[] pcm = new short[(int) (lengthSec * SAMPLE_RATE)];
+        for (int i = 0; i < pcm.length; i++) {
+            pcm[i] = (short) (random.nextGaussian() * 30);
+        }
+        for (int r = 0; r < speechSec.length; r += 2) {
+            for (int i = (int) (speechSec[r] * SAMPLE_RATE); i < (int) (speechSec[r + 1] * SAMPLE_RATE); i++) {
+                pcm[i] += (short) (8000 * Math.sin(2 * Math.PI * 220 * i / SAMPLE_RATE));
+            }
+        }
+        return pcm;
+    }
+
+    @Test
+    void testDetectSpeechRegions() throws Exception {
+        SilenceSkipper skipper = new SilenceSkipper.Builder()
+                .setMinSilenceSec(1.0)
+                .setGuardSec(0.2)
+                .build();
+
+        // Leading and trailing silence are cut without a guard on the outer side. The 0.5 s gap is kept.
+        short[] pcm = synthesize(12, 2, 4, 4.5, 6, 9, 10);
+        int[] regions = skipper.detectSpeechRegions(pcm, SAMPLE_RATE);
+        assertArrayEquals(
+                new int[]{(int) (1.8 * SAMPLE_RATE), (int) (6.2 * SAMPLE_RATE),
+                        (int) (8.8 * SAMPLE_RATE), (int) (10.2 * SAMPLE_RATE)},
+                regions);
+
+        assertArrayEquals(new int[0], skipper.detectSpeechRegions(synthesize(5), SAMPLE_RATE));
+        assertArrayEquals(new int[0], skipper.detectSpeechRegions(new short[0], SAMPLE_RATE));
+
+        short[] speech = synthesize(5, 0, 5);
+        assertArrayEquals(new int[]{0, speech.length}, skipper.detectSpeechRegions(speech, SAMPLE_RATE));
+    }
+
+    @Test
+    void testRemap() {
+        // Kept regions [1 s, 3 s) and [10 s, 11 s) become [0 s, 2 s) and [2 s, 3 s) for the engine.
+        int[] regions = {SAMPLE_RATE, 3 * SAMPLE_RATE, 10 * SAMPLE_RATE, 11 * SAMPLE_RATE};
+        FalconSegmentBuffer segments = new FalconSegmentBuffer();
+        segments.reset(3);
+        segments.set(0, 0.5f, 1.5f, 1);
+        segments.set(1, 1.5f, 2.5f, 2);
+        segments.set(2, 2.5f, 3.0f, 1);
+
+        SilenceSkipper.remap(segments, regions, SAMPLE_RATE);
+
+        assertEquals(4, segments.getNumSegments());
+        float[][] expected = {{1.5f, 2.5f, 1}, {2.5f, 3.0f, 2}, {10.0f, 10.5f, 2}, {10.5f, 11.0f, 1}};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], segments.getStartSec(i), 1e-4);
+            assertEquals(expected[i][1], segments.getEndSec(i), 1e-4);
+            assertEquals((int) expected[i][2], segments.getSpeakerTag(i));
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> new SilenceSkipper.Builder().setMinSilenceSec(0.3).setGuardSec(0.2).build());
+        assertThrows(FalconInvalidArgumentException.class, () -> new SilenceSkipper.Builder().setGuardSec(-1).build());
+        assertThrows(FalconInvalidArgumentException.class, () -> new SilenceSkipper.Builder().setMarginDb(0).build());
+    }
+
+    @Test
+    void testProcess() throws Exception {
+        Falcon falcon = FalconTest.falconBuilder().build();
+        short[] speech = FalconTest.readAudioFile(FalconTest.getAudioFilepath("test.wav"));
+        int silenceLength = 10 * falcon.getSampleRate();
+        short[] pcm = new short[speech.length + 2 * silenceLength];
+        System.arraycopy(speech, 0, pcm, silenceLength, speech.length);
+
+        SilenceSkipper skipper = new SilenceSkipper.Builder().build();
+        FalconSegment[] segments = skipper.process(falcon, pcm);
+        FalconSegment[] expected = falcon.process(speech);
+        falcon.delete();
+
+        SilenceSkipper.Stats stats = skipper.getLastStats();
+        assertTrue(stats.getSkippedFraction() > 0.5, stats.toString());
+        assertTrue(segments.length > 0);
+        float offsetSec = silenceLength / (float) SAMPLE_RATE;
+        assertTrue(segments[0].getStartSec() >= offsetSec - 0.5f);
+        float expectedEndSec = offsetSec + expected[expected.length - 1].getEndSec();
+        assertTrue(segments[segments.length - 1].getEndSec() <= expectedEndSec + 0.5f);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+    Copyright 2025 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.falcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class WavHeaderTest {
+
+    private static ByteBuffer header(int dataSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(0);
+        buffer.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+        buffer.putShort((short) 1).putShort((short) 1).putInt(16000).putInt(32000);
+        buffer.putShort((short) 2).putShort((short) 16);
+        buffer.put("LIST".getBytes(StandardCharsets.US_ASCII)).putInt(3).put(new byte[4]);
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataSize);
+        return buffer;
+    }
+
+    @Test
+    void testParseTestAudio() throws Exception {
+        byte[] file = Files.readAllBytes(FalconTest.getAudioFilepath("test.wav"));
+        WavHeader header = WavHeader.parse(MemorySegment.ofArray(file));
+
+        assertEquals(1, header.numChannels);
+        assertEquals(16000, header.sampleRate);
+        assertEquals(16, header.bitsPerSample);
+        assertEquals(44, header.dataOffset);
+        assertEquals(file.length - 44, header.dataSize);
+    }
+
+    @Test
+    void testSkipsPaddedChunks() throws Exception {
+        ByteBuffer buffer = header(8);
+        WavHeader header = WavHeader.parse(MemorySegment.ofArray(buffer.array()));
+
+        assertEquals(56, header.dataOffset);
+        assertEquals(8, header.dataSize);
+    }
+
+    @Test
+    void testClampsUnsetDataSize() throws Exception {
+        ByteBuffer buffer = header(-1);
+        WavHeader header = WavHeader.parse(MemorySegment.ofArray(buffer.array()));
+
+        assertEquals(64 - 56, header.dataSize);
+    }
+
+    private static byte[] extensibleHeader(int subFormat) {
+        ByteBuffer buffer = ByteBuffer.allocate(72).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(64);
+        buffer.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(40);
+        buffer.putShort((short) 0xFFFE).putShort((short) 2).putInt(16000).putInt(64000);
+        buffer.putShort((short) 4).putShort((short) 16);
+        buffer.putShort((short) 22).putShort((short) 16).putInt(3);
+        buffer.putShort((short) subFormat);
+        buffer.put(new byte[]{0x00, 0x00, 0x00, 0x00, 0x10, 0x00, (byte) 0x80, 0x00,
+                0x00, (byte) 0xAA, 0x00, 0x38, (byte) 0x9B, 0x71});
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(8);
+        return buffer.array();
+    }
+
+    @Test
+    void testExtensibleSubFormat() throws Exception {
+        WavHeader header = WavHeader.parse(MemorySegment.ofArray(extensibleHeader(1)));
+        assertEquals(2, header.numChannels);
+        assertEquals(16, header.bitsPerSample);
+        assertEquals(68, header.dataOffset);
+
+        // IEEE float and mu-law.
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> WavHeader.parse(MemorySegment.ofArray(extensibleHeader(3))));
+        assertThrows(
+                FalconInvalidArgumentException.class,
+                () -> WavHeader.parse(MemorySegment.ofArray(extensibleHeader(7))));
+
+        byte[] unknownGuid = extensibleHeader(1);
+        unknownGuid[20 + 24 + 15] ^= 0x01;
+        assertThrows(FalconInvalidArgumentException.class, () -> WavHeader.parse(MemorySegment.ofArray(unknownGuid)));
+    }
+
+    @Test
+    void testRejectsNonWav() {
+        byte[] file = "not a wav file at all".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(FalconInvalidArgumentException.class, () -> WavHeader.parse(MemorySegment.ofArray(file)));
+    }
+}
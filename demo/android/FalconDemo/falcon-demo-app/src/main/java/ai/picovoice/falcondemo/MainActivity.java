@@ -54,7 +54,8 @@ public class MainActivity extends AppCompatActivity {
     private static final int FRAME_LENGTH = 512;
 
     private final VoiceProcessor voiceProcessor = VoiceProcessor.getInstance();
-    private final ArrayList<Short> pcmData = new ArrayList<>();
+    private final ArrayList<short[]> pcmFrames = new ArrayList<>();
+    private int numRecordedSamples = 0;
 
     private Timer recordingTimer;
     private double recordingTimeSec = 0;
@@ -119,9 +120,8 @@ public class MainActivity extends AppCompatActivity {
         }
 
         voiceProcessor.addFrameListener(frame -> {
-            for (short sample : frame) {
-                pcmData.add(sample);
-            }
+            pcmFrames.add(frame.clone());
+            numRecordedSamples += frame.length;
         });
 
         voiceProcessor.addErrorListener(error -> {
@@ -155,7 +155,8 @@ public class MainActivity extends AppCompatActivity {
     private void startRecording() {
         setUIState(UIState.RECORDING);
 
-        pcmData.clear();
+        pcmFrames.clear();
+        numRecordedSamples = 0;
         try {
             voiceProcessor.start(FRAME_LENGTH, falcon.getSampleRate());
         } catch (VoiceProcessorException e) {
@@ -200,10 +201,13 @@ public class MainActivity extends AppCompatActivity {
         }
 
         setUIState(UIState.DIARIZING);
-        short[] pcmDataArray = new short[pcmData.size()];
-        for (int i = 0; i < pcmData.size(); i++) {
-            pcmDataArray[i] = pcmData.get(i);
+        short[] pcmDataArray = new short[numRecordedSamples];
+        int offset = 0;
+        for (short[] frame : pcmFrames) {
+            System.arraycopy(frame, 0, pcmDataArray, offset, frame.length);
+            offset += frame.length;
         }
+        pcmFrames.clear();
 
         new Thread(() -> {
             try {